@@ -0,0 +1,333 @@
+package com.github.jhg023.common.database;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link Executor} that runs blocking database work on behalf of {@link MySQL}, isolated from
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()} so that a stalled database never starves unrelated
+ * asynchronous work.
+ * <br><br>
+ * Work is either run on a fixed number of platform threads fed by a bounded queue, or (on Java 21 and newer) on a new
+ * virtual thread per task, with the number of tasks running at once bounded by the same limit. In both modes, tasks
+ * that arrive when the queue is full are handled by a {@link RejectionPolicy}.
+ *
+ * @author Jacob Glickman
+ * @version January 21, 2020
+ */
+public final class DatabaseExecutor implements Executor, AutoCloseable {
+
+    /**
+     * The kinds of threads that database work can be run on.
+     */
+    public enum Mode {
+
+        /**
+         * A fixed pool of platform threads.
+         */
+        PLATFORM,
+
+        /**
+         * A new virtual thread per task, which requires Java 21 or newer.
+         */
+        VIRTUAL
+    }
+
+    /**
+     * The actions that can be taken when a task arrives while the queue is full.
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * Throws a {@link RejectedExecutionException} to the thread that submitted the task, so that the submitter
+         * decides what to do with it.
+         */
+        ABORT,
+
+        /**
+         * Runs the task on the thread that submitted it, which slows the submitter down until the queue drains. This
+         * must not be used if tasks may be submitted from a thread that must never block, such as the main server
+         * thread.
+         */
+        CALLER_RUNS
+    }
+
+    /**
+     * The executor that tasks are delegated to.
+     */
+    private final ExecutorService delegate;
+
+    /**
+     * Bounds the number of tasks that run at once in {@link Mode#VIRTUAL}, or {@code null} in {@link Mode#PLATFORM}.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The action taken when a task arrives while the queue is full.
+     */
+    private final RejectionPolicy rejectionPolicy;
+
+    /**
+     * The maximum number of tasks that may wait to run.
+     */
+    private final int queueCapacity;
+
+    /**
+     * The number of tasks that are waiting to run.
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * The number of tasks that are running.
+     */
+    private final AtomicInteger active = new AtomicInteger();
+
+    /**
+     * The number of tasks that have finished running.
+     */
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * The number of tasks that were rejected because the queue was full.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * The sum of the latencies, from submission to completion, of every finished task.
+     */
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    /**
+     * The greatest latency, from submission to completion, of any finished task.
+     */
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * Creates a new {@link DatabaseExecutor}.
+     *
+     * @param mode            the kind of threads to run tasks on.
+     * @param threads         the maximum number of tasks that run at once, which should match the size of the
+     *                        connection pool.
+     * @param queueCapacity   the maximum number of tasks that may wait to run.
+     * @param rejectionPolicy the action taken when a task arrives while the queue is full.
+     * @throws UnsupportedOperationException if {@code mode} is {@link Mode#VIRTUAL} and the running JVM does not
+     *                                       support virtual threads.
+     */
+    public DatabaseExecutor(Mode mode, int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("The number of threads and the queue capacity must be positive!");
+        }
+
+        this.rejectionPolicy = rejectionPolicy;
+        this.queueCapacity = queueCapacity;
+
+        if (mode == Mode.VIRTUAL) {
+            this.delegate = newVirtualThreadPerTaskExecutor();
+            this.permits = new Semaphore(threads);
+        } else {
+            // The queue is sized so that the queued counter, rather than the queue itself, decides when to reject.
+            var counter = new AtomicInteger();
+            var executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity + threads), (Runnable runnable) -> {
+                    var thread = new Thread(runnable, "McExperience-Database-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+            executor.allowCoreThreadTimeOut(true);
+
+            this.delegate = executor;
+            this.permits = null;
+        }
+    }
+
+    /**
+     * Runs the specified task on this executor, or handles it with this executor's {@link RejectionPolicy} if the
+     * queue is full.
+     *
+     * @param task the task to run.
+     * @throws RejectedExecutionException if the queue is full and the rejection policy is
+     *                                    {@link RejectionPolicy#ABORT}, or if this executor has been closed.
+     */
+    @Override
+    public void execute(Runnable task) {
+        long submittedAt = System.nanoTime();
+
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            reject(task, submittedAt);
+            return;
+        }
+
+        try {
+            delegate.execute(() -> run(task, submittedAt, true));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+
+            if (delegate.isShutdown()) {
+                throw e;
+            }
+
+            reject(task, submittedAt);
+        }
+    }
+
+    /**
+     * Gets the number of tasks that are waiting to run.
+     *
+     * @return the queue depth.
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Gets the number of tasks that are running.
+     *
+     * @return the number of active tasks.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of tasks that have finished running, including rejected tasks that ran on their caller.
+     *
+     * @return the number of completed tasks.
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the number of tasks that arrived while the queue was full.
+     *
+     * @return the number of rejected tasks.
+     */
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the mean latency, from submission to completion, of every finished task.
+     *
+     * @return the mean latency in nanoseconds, or {@code 0} if no task has finished.
+     */
+    public long getAverageLatencyNanos() {
+        long count = completed.sum();
+        return count == 0L ? 0L : totalLatencyNanos.sum() / count;
+    }
+
+    /**
+     * Gets the greatest latency, from submission to completion, of any finished task.
+     *
+     * @return the maximum latency in nanoseconds.
+     */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    /**
+     * Stops accepting tasks and waits up to the specified timeout for queued and running tasks to finish.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit    the unit of {@code timeout}.
+     * @return {@code true} if every task finished, otherwise {@code false}.
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) {
+        delegate.shutdown();
+
+        try {
+            return delegate.awaitTermination(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting tasks and waits up to ten seconds for queued and running tasks to finish.
+     */
+    @Override
+    public void close() {
+        shutdown(10L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Handles a task that arrived while the queue was full.
+     *
+     * @param task        the task.
+     * @param submittedAt the time at which the task was submitted, in nanoseconds.
+     */
+    private void reject(Runnable task, long submittedAt) {
+        rejected.increment();
+
+        if (rejectionPolicy == RejectionPolicy.ABORT) {
+            throw new RejectedExecutionException("The database executor's queue is full (" + queueCapacity +
+                " tasks)!");
+        }
+
+        run(task, submittedAt, false);
+    }
+
+    /**
+     * Runs the specified task, bounding concurrency in {@link Mode#VIRTUAL} and recording its latency.
+     *
+     * @param task        the task.
+     * @param submittedAt the time at which the task was submitted, in nanoseconds.
+     * @param queuedTask  {@code true} if the task was counted as queued, otherwise {@code false}.
+     */
+    private void run(Runnable task, long submittedAt, boolean queuedTask) {
+        if (permits != null) {
+            permits.acquireUninterruptibly();
+        }
+
+        // A virtual thread that is waiting for a permit is still considered to be queued.
+        if (queuedTask) {
+            queued.decrementAndGet();
+        }
+
+        active.incrementAndGet();
+
+        try {
+            task.run();
+        } finally {
+            active.decrementAndGet();
+
+            if (permits != null) {
+                permits.release();
+            }
+
+            long latency = System.nanoTime() - submittedAt;
+
+            completed.increment();
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new virtual thread for each task.
+     * <br><br>
+     * This is done reflectively so that this module can still be compiled for, and run on, older versions of Java.
+     *
+     * @return the executor.
+     * @throws UnsupportedOperationException if the running JVM does not support virtual threads.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer!", e);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import com.zaxxer.hikari.HikariDataSource;
 import java.io.Closeable;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -28,11 +30,41 @@ public final class MySQL implements Closeable {
      */
     private static final String MYSQL_JDBC_URL_FORMAT = "jdbc:mysql://%s:%d/%s";
 
+    /**
+     * The default maximum number of connections in the pool.
+     */
+    private static final int DEFAULT_MAXIMUM_POOL_SIZE = 10;
+
+    /**
+     * The default maximum number of asynchronous tasks that may wait for a connection.
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 1_024;
+
     /**
      * The backing connection pool.
      */
     private final HikariDataSource hikariDataSource;
 
+    /**
+     * The executor that runs every asynchronous connection.
+     */
+    private final DatabaseExecutor executor;
+
+    /**
+     * The time spent waiting for a connection from the pool.
+     */
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+
+    /**
+     * The time for which connections are held, from being acquired until their work is committed.
+     */
+    private final LatencyHistogram usageLatency = new LatencyHistogram();
+
+    /**
+     * The number of connections that failed with a {@link SQLException}.
+     */
+    private final LongAdder failures = new LongAdder();
+
     /**
      * Instantiates a new {@link MySQL} instance.
      *
@@ -43,6 +75,41 @@ public final class MySQL implements Closeable {
      * @param password The password.
      */
     public MySQL(String host, int port, String database, String username, String password) {
+        this(host, port, database, username, password, Map.of());
+    }
+
+    /**
+     * Instantiates a new {@link MySQL} instance.
+     *
+     * @param host       The host.
+     * @param port       The port.
+     * @param database   The database name.
+     * @param username   The username.
+     * @param password   The password.
+     * @param properties The driver properties to set on every connection (i.e. {@code rewriteBatchedStatements}).
+     */
+    public MySQL(String host, int port, String database, String username, String password,
+                 Map<String, String> properties) {
+        this(host, port, database, username, password, properties, DEFAULT_MAXIMUM_POOL_SIZE,
+            new DatabaseExecutor(DatabaseExecutor.Mode.PLATFORM, DEFAULT_MAXIMUM_POOL_SIZE, DEFAULT_QUEUE_CAPACITY,
+                DatabaseExecutor.RejectionPolicy.ABORT));
+    }
+
+    /**
+     * Instantiates a new {@link MySQL} instance.
+     *
+     * @param host            The host.
+     * @param port            The port.
+     * @param database        The database name.
+     * @param username        The username.
+     * @param password        The password.
+     * @param properties      The driver properties to set on every connection (i.e. {@code rewriteBatchedStatements}).
+     * @param maximumPoolSize The maximum number of connections in the pool.
+     * @param executor        The executor that runs every asynchronous connection, which is closed along with this
+     *                        instance.
+     */
+    public MySQL(String host, int port, String database, String username, String password,
+                 Map<String, String> properties, int maximumPoolSize, DatabaseExecutor executor) {
         var config = new HikariConfig();
 
         config.setDriverClassName("org.mariadb.jdbc.Driver");
@@ -51,8 +118,12 @@ public final class MySQL implements Closeable {
         config.setPassword(password);
         config.setMaxLifetime(TimeUnit.MILLISECONDS.convert(10L, TimeUnit.MINUTES));
         config.setAutoCommit(false);
+        config.setMaximumPoolSize(maximumPoolSize);
+
+        properties.forEach(config::addDataSourceProperty);
 
         this.hikariDataSource = new HikariDataSource(config);
+        this.executor = executor;
     }
 
     /**
@@ -87,11 +158,22 @@ public final class MySQL implements Closeable {
      * @return The result of {@code onConnect} if a connection is established to the database, otherwise {@code null}.
      */
     public <T> T connect(Function<Connection, T> onConnect, Consumer<SQLException> onFailure) {
+        long start = System.nanoTime();
+
         try (var connection = hikariDataSource.getConnection()) {
-            T result = onConnect.apply(connection);
-            connection.commit();
-            return result;
+            long acquired = System.nanoTime();
+
+            acquireLatency.record(acquired - start);
+
+            try {
+                T result = onConnect.apply(connection);
+                connection.commit();
+                return result;
+            } finally {
+                usageLatency.recordSince(acquired);
+            }
         } catch (SQLException e) {
+            failures.increment();
             onFailure.accept(e);
             return null;
         }
@@ -134,52 +216,131 @@ public final class MySQL implements Closeable {
     }
 
     /**
-     * Returns a {@link CompletableFuture} that invokes {@link #connect(Function)} asynchronously.
+     * Returns a {@link CompletableFuture} that invokes, on this instance's {@link DatabaseExecutor},
+     * {@link #connect(Function)} asynchronously.
      *
      * @param onConnect The action to be performed if a connection is established to the database.
      * @return A {@link CompletableFuture} with the result of invoking {@link #connect(Function)}.
      */
     public <T> CompletableFuture<T> connectAsync(Function<Connection, T> onConnect) {
-        return CompletableFuture.supplyAsync(() -> connect(onConnect));
+        return CompletableFuture.supplyAsync(() -> connect(onConnect), executor);
     }
 
     /**
-     * Returns a {@link CompletableFuture} that invokes {@link #connect(Function, Consumer)} asynchronously.
+     * Returns a {@link CompletableFuture} that invokes, on this instance's {@link DatabaseExecutor},
+     * {@link #connect(Function, Consumer)} asynchronously.
      *
      * @param onConnect The action to be performed if a connection is established to the database.
      * @param onFailure The action to be performed if a {@link SQLException} occurs.
      * @return A {@link CompletableFuture} with the result of invoking {@link #connect(Function, Consumer)}.
      */
     public <T> CompletableFuture<T> connectAsync(Function<Connection, T> onConnect, Consumer<SQLException> onFailure) {
-        return CompletableFuture.supplyAsync(() -> connect(onConnect, onFailure));
+        return CompletableFuture.supplyAsync(() -> connect(onConnect, onFailure), executor);
     }
 
     /**
-     * Returns a {@link CompletableFuture} that invokes {@link #connect(Consumer)} asynchronously.
+     * Returns a {@link CompletableFuture} that invokes, on this instance's {@link DatabaseExecutor},
+     * {@link #connect(Consumer)} asynchronously.
      *
      * @param onConnect The action to be performed if a connection is established to the database.
      * @return A {@link CompletableFuture}.
      */
     public CompletableFuture<Void> connectAsync(Consumer<Connection> onConnect) {
-        return CompletableFuture.runAsync(() -> connect(onConnect));
+        return CompletableFuture.runAsync(() -> connect(onConnect), executor);
     }
 
     /**
-     * Returns a {@link CompletableFuture} that invokes {@link #connect(Consumer, Consumer)} asynchronously.
+     * Returns a {@link CompletableFuture} that invokes, on this instance's {@link DatabaseExecutor},
+     * {@link #connect(Consumer, Consumer)} asynchronously.
      *
      * @param onConnect The action to be performed if a connection is established to the database.
      * @param onFailure The action to be performed if a {@link SQLException} occurs.
      * @return A {@link CompletableFuture}.
      */
     public CompletableFuture<Void> connectAsync(Consumer<Connection> onConnect, Consumer<SQLException> onFailure) {
-        return CompletableFuture.runAsync(() -> connect(onConnect, onFailure));
+        return CompletableFuture.runAsync(() -> connect(onConnect, onFailure), executor);
+    }
+
+    /**
+     * Gets the {@link DatabaseExecutor} that runs every asynchronous connection, which exposes its queue depth and
+     * task latency.
+     *
+     * @return the executor.
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets the histogram of the time spent waiting for a connection from the pool.
+     *
+     * @return the histogram.
+     */
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * Gets the histogram of the time for which connections are held, from being acquired until their work is
+     * committed.
+     *
+     * @return the histogram.
+     */
+    public LatencyHistogram getUsageLatency() {
+        return usageLatency;
+    }
+
+    /**
+     * Gets the number of connections that failed with a {@link SQLException}.
+     *
+     * @return the number of failures.
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Gets the number of connections in the pool that are in use.
+     *
+     * @return the number of active connections.
+     */
+    public int getActiveConnections() {
+        return hikariDataSource.getHikariPoolMXBean().getActiveConnections();
+    }
+
+    /**
+     * Gets the number of connections in the pool that are idle.
+     *
+     * @return the number of idle connections.
+     */
+    public int getIdleConnections() {
+        return hikariDataSource.getHikariPoolMXBean().getIdleConnections();
+    }
+
+    /**
+     * Gets the number of connections in the pool, both active and idle.
+     *
+     * @return the number of connections.
+     */
+    public int getTotalConnections() {
+        return hikariDataSource.getHikariPoolMXBean().getTotalConnections();
+    }
+
+    /**
+     * Gets the number of threads that are waiting for a connection from the pool.
+     *
+     * @return the number of waiting threads.
+     */
+    public int getThreadsAwaitingConnection() {
+        return hikariDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection();
     }
 
     /**
-     * Closes the backing {@link HikariDataSource}.
+     * Waits for queued asynchronous connections to finish, then closes the backing {@link HikariDataSource}.
      */
     @Override
     public void close() {
+        executor.close();
         hikariDataSource.close();
     }
 }
@@ -1,8 +1,13 @@
 package com.github.jhg023.spigot.database;
 
+import com.github.jhg023.common.database.DatabaseExecutor;
 import com.github.jhg023.common.database.MySQL;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.logging.Level;
+
 public final class Database extends JavaPlugin {
 
     private static MySQL mySQL;
@@ -12,9 +17,18 @@ public final class Database extends JavaPlugin {
         saveDefaultConfig();
 
         var config = getConfig();
+        var properties = new HashMap<String, String>();
+        var section = config.getConfigurationSection("mysql.properties");
+
+        if (section != null) {
+            section.getKeys(false).forEach(key -> properties.put(key, section.getString(key)));
+        }
+
+        int maximumPoolSize = config.getInt("mysql.maximum-pool-size", 10);
 
         mySQL = new MySQL(config.getString("mysql.host"), config.getInt("mysql.port"),
-            config.getString("mysql.database"), config.getString("mysql.username"), config.getString("mysql.password"));
+            config.getString("mysql.database"), config.getString("mysql.username"), config.getString("mysql.password"),
+            properties, maximumPoolSize, createExecutor(maximumPoolSize));
     }
 
     @Override
@@ -22,6 +36,34 @@ public final class Database extends JavaPlugin {
         mySQL.close();
     }
 
+    /**
+     * Creates the {@link DatabaseExecutor} described by the {@code executor} section of this plugin's configuration.
+     * <br><br>
+     * If virtual threads are requested but the running JVM does not support them, platform threads are used instead.
+     *
+     * @param maximumPoolSize the maximum number of connections in the pool, used when no thread count is configured.
+     * @return the executor.
+     */
+    private DatabaseExecutor createExecutor(int maximumPoolSize) {
+        var config = getConfig();
+        var mode = DatabaseExecutor.Mode.valueOf(config.getString("executor.mode", "PLATFORM").toUpperCase(Locale.US));
+        var rejectionPolicy = DatabaseExecutor.RejectionPolicy.valueOf(
+            config.getString("executor.rejection-policy", "ABORT").toUpperCase(Locale.US));
+        int threads = config.getInt("executor.threads", 0);
+        int queueCapacity = config.getInt("executor.queue-capacity", 1_024);
+
+        if (threads <= 0) {
+            threads = maximumPoolSize;
+        }
+
+        try {
+            return new DatabaseExecutor(mode, threads, queueCapacity, rejectionPolicy);
+        } catch (UnsupportedOperationException e) {
+            getLogger().log(Level.WARNING, "Virtual threads are not supported by this JVM; using platform threads!");
+            return new DatabaseExecutor(DatabaseExecutor.Mode.PLATFORM, threads, queueCapacity, rejectionPolicy);
+        }
+    }
+
     public static MySQL getMySQL() {
         return mySQL;
     }
@@ -1,5 +1,6 @@
 package com.github.jhg023.spigot.skill.archery;
 
+import com.github.jhg023.spigot.skill.SkillManager;
 import com.github.jhg023.spigot.skill.archery.event.ArcheryEventHandler;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -13,6 +14,6 @@ public final class Archery extends JavaPlugin {
 
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new ArcheryEventHandler(), this);
+        SkillManager.getInstance().registerEvents(new ArcheryEventHandler(), this);
     }
 }
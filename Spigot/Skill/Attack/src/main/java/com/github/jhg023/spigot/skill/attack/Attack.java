@@ -1,6 +1,8 @@
 package com.github.jhg023.spigot.skill.attack;
 
+import com.github.jhg023.spigot.skill.SkillManager;
 import com.github.jhg023.spigot.skill.attack.event.AttackEventHandler;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -11,8 +13,32 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public final class Attack extends JavaPlugin {
 
+    /**
+     * The weapons, with the attack level required to use them, loaded from this plugin's configuration, which is
+     * replaced as a whole when it is reloaded.
+     */
+    private volatile MaterialTable weapons;
+
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new AttackEventHandler(), this);
+        saveDefaultConfig();
+        weapons = MaterialTable.load(getConfig().getConfigurationSection("weapons"));
+
+        var manager = SkillManager.getInstance();
+
+        manager.registerEvents(new AttackEventHandler(this), this);
+        manager.registerReloadable(this, () -> {
+            reloadConfig();
+            weapons = MaterialTable.load(getConfig().getConfigurationSection("weapons"));
+        });
+    }
+
+    /**
+     * Gets the weapons, which should be read once per event.
+     *
+     * @return the table of weapons.
+     */
+    public MaterialTable getWeapons() {
+        return weapons;
     }
 }
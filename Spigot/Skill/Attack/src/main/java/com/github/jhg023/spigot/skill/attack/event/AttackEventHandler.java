@@ -2,7 +2,8 @@ package com.github.jhg023.spigot.skill.attack.event;
 
 import com.github.jhg023.spigot.skill.Skill;
 import com.github.jhg023.spigot.skill.SkillManager;
-import com.github.jhg023.spigot.skill.attack.Weapon;
+import com.github.jhg023.spigot.skill.attack.Attack;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
 import com.github.jhg023.spigot.skill.utility.SkillUtility;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
@@ -24,6 +25,15 @@ public final class AttackEventHandler implements Listener {
      */
     private static final int ATTACK_EXPERIENCE_MULTIPLIER = 3;
 
+    /**
+     * The plugin whose material table is used.
+     */
+    private final Attack attack;
+
+    public AttackEventHandler(Attack attack) {
+        this.attack = attack;
+    }
+
     @EventHandler
     public void onPlayerDamageEntityWithWeapon(EntityDamageByEntityEvent event) {
         // If the cause of damage is not a direct entity attack, return.
@@ -43,18 +53,18 @@ public final class AttackEventHandler implements Listener {
         }
 
         var attacker = (Player) damager;
-        var maybeWeapon = Weapon.forMaterial(attacker.getInventory().getItemInMainHand().getType());
+        var weapons = attack.getWeapons();
+        var weapon = attacker.getInventory().getItemInMainHand().getType();
+        int requiredLevel = weapons.getRequiredLevel(weapon);
 
         // If the attacker isn't wielding a weapon, return.
-        if (maybeWeapon.isEmpty()) {
+        if (requiredLevel == MaterialTable.ABSENT) {
             return;
         }
 
-        var weapon = maybeWeapon.get();
-
-        if (SkillManager.getInstance().doesNotMeetLevelRequirement(attacker, Skill.ATTACK,
-                weapon.getRequiredAttackLevel(), (int level) -> {
-                    String formattedName = weapon.getFormattedName();
+        if (SkillManager.getInstance().doesNotMeetLevelRequirement(attacker, Skill.ATTACK, requiredLevel,
+                (int level) -> {
+                    String formattedName = weapons.getName(weapon);
                     return "attack with " + SkillUtility.getIndefiniteArticle(formattedName) + " &a" + formattedName +
                         "&f!";
                 })) {
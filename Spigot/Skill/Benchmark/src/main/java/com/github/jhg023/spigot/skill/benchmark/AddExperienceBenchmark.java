@@ -0,0 +1,140 @@
+package com.github.jhg023.spigot.skill.benchmark;
+
+import com.github.jhg023.spigot.skill.ExperienceBuffer;
+import com.github.jhg023.spigot.skill.ExperienceJournal;
+import com.github.jhg023.spigot.skill.PlayerSkillStore;
+import com.github.jhg023.spigot.skill.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the data path of {@code SkillManager#addExperience} with a varying number of online players: the grant
+ * to the {@link PlayerSkillStore}, including the level check, and the write-behind to the {@link ExperienceBuffer},
+ * with and without an {@link ExperienceJournal}.
+ * <br><br>
+ * The event and tracker work that follows a grant needs a running server, so it is not included.
+ *
+ * @author Jacob Glickman
+ * @version January 28, 2020
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddExperienceBenchmark {
+
+    /**
+     * The number of players in the store.
+     */
+    @Param({"100", "1000", "10000"})
+    private int players;
+
+    /**
+     * Whether or not the buffer journals its deltas.
+     */
+    @Param({"false", "true"})
+    private boolean journaled;
+
+    /**
+     * The unique identifiers of the players.
+     */
+    private UUID[] uuids;
+
+    /**
+     * The store that experience is granted to.
+     */
+    private PlayerSkillStore store;
+
+    /**
+     * The buffer that pending experience is written behind to.
+     */
+    private ExperienceBuffer buffer;
+
+    /**
+     * The directory that the journal is stored in, or {@code null} if the buffer does not journal its deltas.
+     */
+    private Path journalDirectory;
+
+    /**
+     * The index of the next player to grant experience to.
+     */
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setupPlayers() {
+        uuids = new UUID[players];
+
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Starts every iteration with fresh rows, so that experience never overflows however long the benchmark runs.
+     */
+    @Setup(Level.Iteration)
+    public void setupStore() throws IOException {
+        store = new PlayerSkillStore();
+
+        if (journaled) {
+            journalDirectory = Files.createTempDirectory("journal");
+            buffer = new ExperienceBuffer(new ExperienceJournal(journalDirectory, 4_096 * 1_024));
+        } else {
+            buffer = new ExperienceBuffer();
+        }
+
+        for (var uuid : uuids) {
+            store.put(uuid, new int[Skill.values().length]);
+        }
+    }
+
+    /**
+     * Removes the iteration's journal, including the segment of the generation that is still open.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDownStore() throws IOException {
+        buffer.swap().acknowledge();
+
+        if (journalDirectory == null) {
+            return;
+        }
+
+        try (var paths = Files.list(journalDirectory)) {
+            for (var path : (Iterable<Path>) paths::iterator) {
+                Files.delete(path);
+            }
+        }
+
+        Files.delete(journalDirectory);
+    }
+
+    @Benchmark
+    public int addExperience() {
+        var uuid = uuids[index];
+
+        index = index + 1 == players ? 0 : index + 1;
+
+        int level = store.addExperience(uuid, Skill.MINING, 25);
+        buffer.add(uuid, Skill.MINING, 25);
+        return level;
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.jhg023.spigot.skill.benchmark;
+
+import com.github.jhg023.spigot.skill.ExperienceBuffer;
+import com.github.jhg023.spigot.skill.ExperiencePublisher;
+import com.github.jhg023.spigot.skill.ExperienceSnapshot;
+import com.github.jhg023.spigot.skill.PlayerDataLoader;
+import com.github.jhg023.spigot.skill.SchemaMigration;
+import com.github.jhg023.spigot.skill.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Benchmarks the serialization of pending experience into a snapshot, and the publishing of that snapshot with each
+ * {@link ExperiencePublisher.Mode}, against an in-memory H2 database in MySQL mode.
+ * <br><br>
+ * An in-memory database has no network round trips, so the publishing benchmarks measure the cost of building, binding,
+ * and executing statements on the plugin's side rather than the latency of a real database.
+ * <br><br>
+ * The string-concatenated {@code UPDATE} batch that experience used to be published with is kept as a baseline, as
+ * {@link #legacyAddToBatch()}. It sends one statement per player and skill, which the database must parse separately,
+ * where {@link ExperiencePublisher.Mode#BATCHED_UPDATE BATCHED_UPDATE} sends one row of a prepared statement per player
+ * and {@link ExperiencePublisher.Mode#MULTI_ROW_UPSERT MULTI_ROW_UPSERT} sends one statement per 500 players.
+ *
+ * @author Jacob Glickman
+ * @version January 28, 2020
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlushBenchmark {
+
+    /**
+     * The number of players with pending experience in each flush.
+     */
+    @Param({"100", "1000", "10000"})
+    private int players;
+
+    /**
+     * The strategy used to publish snapshots.
+     */
+    @Param({"BATCHED_UPDATE", "MULTI_ROW_UPSERT", "REWRITTEN_BATCH"})
+    private ExperiencePublisher.Mode mode;
+
+    /**
+     * The unique identifiers of the players.
+     */
+    private UUID[] uuids;
+
+    /**
+     * A connection to the in-memory database.
+     */
+    private Connection connection;
+
+    /**
+     * The buffer that pending experience is added to.
+     */
+    private final ExperienceBuffer buffer = new ExperienceBuffer();
+
+    /**
+     * The map that pending experience used to be added to, for {@link #legacyAddToBatch()}.
+     */
+    private final Map<UUID, Map<Skill, Integer>> legacyPendingExperience = new HashMap<>();
+
+    /**
+     * Publishes snapshots to the in-memory database.
+     */
+    private ExperiencePublisher publisher;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        uuids = new UUID[players];
+
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:" + UUID.randomUUID() +
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        connection.setAutoCommit(false);
+
+        SchemaMigration.migrate(connection, Logger.getLogger(FlushBenchmark.class.getName()));
+        new PlayerDataLoader().load(connection, Arrays.asList(uuids));
+        connection.commit();
+
+        publisher = new ExperiencePublisher(mode, 500);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Adds pending experience in two skills for every player, then seals it into a snapshot.
+     *
+     * @return the snapshot.
+     */
+    @Benchmark
+    public ExperienceSnapshot swap() {
+        fill();
+        return buffer.swap();
+    }
+
+    /**
+     * Adds pending experience in two skills for every player, seals it into a snapshot, and publishes the snapshot.
+     *
+     * @return the number of rows that were published.
+     * @throws SQLException if a database error occurs.
+     */
+    @Benchmark
+    public int flush() throws SQLException {
+        fill();
+
+        int rows = publisher.publish(connection, buffer.swap());
+
+        connection.commit();
+        return rows;
+    }
+
+    /**
+     * Adds pending experience in two skills for every player to a map, then publishes it with one string-concatenated
+     * {@code UPDATE} per player and skill on a plain {@link Statement} batch, as the plugin used to.
+     * <br><br>
+     * This benchmark does not depend on {@link #mode}.
+     *
+     * @return the number of rows that were published.
+     * @throws SQLException if a database error occurs.
+     */
+    @Benchmark
+    public int legacyAddToBatch() throws SQLException {
+        for (var uuid : uuids) {
+            var skills = legacyPendingExperience.computeIfAbsent(uuid, key -> new EnumMap<>(Skill.class));
+
+            skills.merge(Skill.MINING, 25, Integer::sum);
+            skills.merge(Skill.FISHING, 10, Integer::sum);
+        }
+
+        int rows = 0;
+
+        try (var statement = connection.createStatement()) {
+            for (var entry : legacyPendingExperience.entrySet()) {
+                var uuid = entry.getKey();
+
+                // The unique identifier is now stored as BINARY(16), so it is written as a hexadecimal literal rather
+                // than as the string it used to be stored as.
+                String key = String.format("X'%016x%016x'", uuid.getMostSignificantBits(),
+                    uuid.getLeastSignificantBits());
+
+                for (var skill : entry.getValue().entrySet()) {
+                    String column = '`' + skill.getKey().getDatabaseColumnName() + '`';
+                    statement.addBatch("UPDATE `survival_player_skill_data` SET " + column + " = " + column + " + " +
+                        skill.getValue() + " WHERE `uuid` = " + key + ";");
+                }
+            }
+
+            for (int count : statement.executeBatch()) {
+                rows += count;
+            }
+        }
+
+        legacyPendingExperience.clear();
+        connection.commit();
+        return rows;
+    }
+
+    /**
+     * Adds pending experience in two skills for every player.
+     */
+    private void fill() {
+        for (var uuid : uuids) {
+            buffer.add(uuid, Skill.MINING, 25);
+            buffer.add(uuid, Skill.FISHING, 10);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.jhg023.spigot.skill.benchmark;
+
+import com.github.jhg023.spigot.skill.material.MaterialTable;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link Material} lookups that every block, combat, and fishing event handler performs.
+ * <br><br>
+ * Each operation looks up the next of every {@link Material}, so that both hits and misses are measured in the
+ * proportion that they occur across the whole enumeration. The dense {@link MaterialTable} that the handlers use is
+ * compared against the {@link EnumMap} lookup, wrapped in an {@link Optional}, that they used before.
+ *
+ * @author Jacob Glickman
+ * @version January 28, 2020
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialLookupBenchmark {
+
+    /**
+     * Every {@link Material}.
+     */
+    private static final Material[] MATERIALS = Material.values();
+
+    /**
+     * The blocks that can be mined, as in the Mining plugin's default configuration.
+     */
+    private static final Material[] MINEABLES = {
+        Material.STONE, Material.SANDSTONE, Material.ANDESITE, Material.DIORITE, Material.GRANITE, Material.IRON_ORE,
+        Material.NETHER_QUARTZ_ORE, Material.COAL_ORE, Material.GOLD_ORE, Material.LAPIS_ORE, Material.REDSTONE_ORE,
+        Material.EMERALD_ORE, Material.DIAMOND_ORE
+    };
+
+    /**
+     * The mineable blocks in a dense table.
+     */
+    private final MaterialTable table;
+
+    /**
+     * The mineable blocks in an {@link EnumMap}.
+     */
+    private final Map<Material, MaterialTable.Entry> enumMap = new EnumMap<>(Material.class);
+
+    /**
+     * The index of the next material to look up.
+     */
+    private int index;
+
+    public MaterialLookupBenchmark() {
+        var entries = new LinkedHashMap<Material, MaterialTable.Entry>();
+
+        for (int i = 0; i < MINEABLES.length; i++) {
+            entries.put(MINEABLES[i], new MaterialTable.Entry(i * 5 + 1, i * 10 + 1, MINEABLES[i].name()));
+        }
+
+        table = new MaterialTable(entries);
+        enumMap.putAll(entries);
+    }
+
+    @Benchmark
+    public int denseTable() {
+        return table.getRequiredLevel(next());
+    }
+
+    @Benchmark
+    public Object enumMapOptional() {
+        return Optional.ofNullable(enumMap.get(next()));
+    }
+
+    /**
+     * Gets the next material to look up.
+     *
+     * @return the material.
+     */
+    private Material next() {
+        var material = MATERIALS[index];
+
+        index = index + 1 == MATERIALS.length ? 0 : index + 1;
+        return material;
+    }
+}
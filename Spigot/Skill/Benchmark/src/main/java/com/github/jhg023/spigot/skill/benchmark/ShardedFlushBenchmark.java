@@ -0,0 +1,178 @@
+package com.github.jhg023.spigot.skill.benchmark;
+
+import com.github.jhg023.spigot.skill.ExperienceBuffer;
+import com.github.jhg023.spigot.skill.ExperiencePublisher;
+import com.github.jhg023.spigot.skill.PlayerDataLoader;
+import com.github.jhg023.spigot.skill.SchemaMigration;
+import com.github.jhg023.spigot.skill.ShardedExperiencePublisher;
+import com.github.jhg023.spigot.skill.Skill;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Benchmarks the latency of a whole flush against the number of shards that it is split into, with every shard
+ * published concurrently over its own pooled connection.
+ * <br><br>
+ * By default, the flushes are published to an in-memory H2 database in MySQL mode, which has no network round trips
+ * and serializes much of its work internally, so the results only indicate the overhead of sharding. To measure the
+ * speedup against a real database, pass the URL of a local MariaDB database (including its {@code user} and
+ * {@code password} properties) as the {@code url} parameter, i.e.
+ * {@code -Pjmh.args="-p url=jdbc:mariadb://localhost:3306/skills?user=root&password=root"}.
+ *
+ * @author Jacob Glickman
+ * @version February 1, 2020
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardedFlushBenchmark {
+
+    /**
+     * The number of players with pending experience in each flush.
+     */
+    @Param({"1000", "10000"})
+    private int players;
+
+    /**
+     * The number of shards that each flush is split into.
+     */
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    /**
+     * The URL of the database to publish to, or an empty string for an in-memory H2 database.
+     */
+    @Param({""})
+    private String url;
+
+    /**
+     * The unique identifiers of the players.
+     */
+    private UUID[] uuids;
+
+    /**
+     * The pool of connections to the database.
+     */
+    private HikariDataSource dataSource;
+
+    /**
+     * Runs each shard, in the manner of the Database plugin's executor.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The buffer that pending experience is added to.
+     */
+    private final ExperienceBuffer buffer = new ExperienceBuffer();
+
+    /**
+     * Publishes snapshots to the database.
+     */
+    private ShardedExperiencePublisher publisher;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        uuids = new UUID[players];
+
+        for (int i = 0; i < players; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+
+        var config = new HikariConfig();
+
+        config.setJdbcUrl(url.isEmpty() ? "jdbc:h2:mem:" + UUID.randomUUID() +
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" : url);
+        config.setAutoCommit(false);
+        config.setMaximumPoolSize(shards);
+        config.setMinimumIdle(shards);
+
+        dataSource = new HikariDataSource(config);
+        executor = Executors.newFixedThreadPool(shards);
+
+        try (var connection = dataSource.getConnection()) {
+            SchemaMigration.migrate(connection, Logger.getLogger(ShardedFlushBenchmark.class.getName()));
+            new PlayerDataLoader().load(connection, Arrays.asList(uuids));
+            connection.commit();
+        }
+
+        publisher = new ShardedExperiencePublisher(new ExperiencePublisher(ExperiencePublisher.Mode.MULTI_ROW_UPSERT,
+            500), shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        dataSource.close();
+    }
+
+    /**
+     * Adds pending experience in two skills for every player, seals it into a snapshot, and publishes the snapshot's
+     * shards concurrently.
+     *
+     * @return the number of rows that were published.
+     */
+    @Benchmark
+    public int flush() {
+        for (var uuid : uuids) {
+            buffer.add(uuid, Skill.MINING, 25);
+            buffer.add(uuid, Skill.FISHING, 10);
+        }
+
+        var outcome = publisher.publish(buffer.swap(), this::connectAsync);
+
+        if (outcome.getCause() != null) {
+            throw new IllegalStateException(outcome.getCause());
+        }
+
+        return outcome.getRows();
+    }
+
+    /**
+     * Applies the specified function to a pooled connection on the executor, committing its transaction afterwards.
+     *
+     * @param onConnect the function to apply to the connection.
+     * @param onFailure accepts the exception if a connection cannot be acquired.
+     * @return a future that completes with the result of {@code onConnect}.
+     */
+    private CompletableFuture<Integer> connectAsync(Function<Connection, Integer> onConnect,
+                                                    Consumer<SQLException> onFailure) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (var connection = dataSource.getConnection()) {
+                Integer result = onConnect.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                onFailure.accept(e);
+                return null;
+            }
+        }, executor);
+    }
+}
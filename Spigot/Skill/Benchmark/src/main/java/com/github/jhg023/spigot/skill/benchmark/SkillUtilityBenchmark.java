@@ -0,0 +1,106 @@
+package com.github.jhg023.spigot.skill.benchmark;
+
+import com.github.jhg023.spigot.skill.Skill;
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the level, progress, and tracker display computations of {@link SkillUtility}, which run on every
+ * experience grant and every level requirement check.
+ * <br><br>
+ * Each operation uses the next of a fixed set of random experience values spanning every level, so that branch
+ * prediction cannot learn a single value.
+ *
+ * @author Jacob Glickman
+ * @version January 28, 2020
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkillUtilityBenchmark {
+
+    /**
+     * The number of random experience values, which must be a power of two.
+     */
+    private static final int SAMPLES = 1 << 12;
+
+    /**
+     * The experience required for each level, as the binary search that {@link SkillUtility#getLevelForExperience}
+     * used to perform searched it.
+     */
+    private final int[] experienceForLevel = new int[SkillUtility.MAX_LEVEL];
+
+    /**
+     * The random experience values.
+     */
+    private final int[] experience = new int[SAMPLES];
+
+    /**
+     * The level that correlates to each random experience value.
+     */
+    private final int[] levels = new int[SAMPLES];
+
+    /**
+     * The index of the next experience value.
+     */
+    private int index;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(0x5EED);
+        int maximum = SkillUtility.getExperienceForLevel(SkillUtility.MAX_LEVEL);
+
+        for (int level = 1; level <= SkillUtility.MAX_LEVEL; level++) {
+            experienceForLevel[level - 1] = SkillUtility.getExperienceForLevel(level);
+        }
+
+        for (int i = 0; i < SAMPLES; i++) {
+            experience[i] = random.nextInt(maximum + maximum / 10);
+            levels[i] = SkillUtility.getLevelForExperience(experience[i]);
+        }
+    }
+
+    @Benchmark
+    public int getLevelForExperience() {
+        return SkillUtility.getLevelForExperience(experience[index++ & (SAMPLES - 1)]);
+    }
+
+    /**
+     * The binary search that {@link SkillUtility#getLevelForExperience} performed before it became a table lookup,
+     * kept as a baseline.
+     *
+     * @return the level.
+     */
+    @Benchmark
+    public int getLevelForExperienceBinarySearch() {
+        return Math.abs(Arrays.binarySearch(experienceForLevel, experience[index++ & (SAMPLES - 1)]) + 1);
+    }
+
+    @Benchmark
+    public double getProgress() {
+        int i = index++ & (SAMPLES - 1);
+        return SkillUtility.getProgress(experience[i], levels[i]);
+    }
+
+    @Benchmark
+    public String formatDisplay() {
+        int i = index++ & (SAMPLES - 1);
+        return SkillUtility.formatDisplay(Skill.MINING, experience[i], levels[i]);
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.jhg023.spigot.skill.cooking;
 
+import com.github.jhg023.spigot.skill.SkillManager;
 import com.github.jhg023.spigot.skill.cooking.event.CookingEventHandler;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -13,6 +14,6 @@ public final class Cooking extends JavaPlugin {
 
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new CookingEventHandler(), this);
+        SkillManager.getInstance().registerEvents(new CookingEventHandler(), this);
     }
 }
@@ -1,6 +1,8 @@
 package com.github.jhg023.spigot.skill.fishing;
 
+import com.github.jhg023.spigot.skill.SkillManager;
 import com.github.jhg023.spigot.skill.fishing.event.FishingEventHandler;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
@@ -11,8 +13,32 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public final class Fishing extends JavaPlugin {
 
+    /**
+     * The items that can be caught, with the fishing experience that they provide, loaded from this plugin's
+     * configuration, which is replaced as a whole when it is reloaded.
+     */
+    private volatile MaterialTable fishables;
+
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new FishingEventHandler(), this);
+        saveDefaultConfig();
+        fishables = MaterialTable.load(getConfig().getConfigurationSection("fishables"));
+
+        var manager = SkillManager.getInstance();
+
+        manager.registerEvents(new FishingEventHandler(this), this);
+        manager.registerReloadable(this, () -> {
+            reloadConfig();
+            fishables = MaterialTable.load(getConfig().getConfigurationSection("fishables"));
+        });
+    }
+
+    /**
+     * Gets the items that can be caught, which should be read once per event.
+     *
+     * @return the table of fishables.
+     */
+    public MaterialTable getFishables() {
+        return fishables;
     }
 }
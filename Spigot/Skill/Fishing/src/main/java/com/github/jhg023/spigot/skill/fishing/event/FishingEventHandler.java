@@ -2,7 +2,7 @@ package com.github.jhg023.spigot.skill.fishing.event;
 
 import com.github.jhg023.spigot.skill.Skill;
 import com.github.jhg023.spigot.skill.SkillManager;
-import com.github.jhg023.spigot.skill.fishing.Fishable;
+import com.github.jhg023.spigot.skill.fishing.Fishing;
 import org.bukkit.entity.Item;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -16,6 +16,15 @@ import org.bukkit.event.player.PlayerFishEvent;
  */
 public final class FishingEventHandler implements Listener {
 
+    /**
+     * The plugin whose material table is used.
+     */
+    private final Fishing fishing;
+
+    public FishingEventHandler(Fishing fishing) {
+        this.fishing = fishing;
+    }
+
     @EventHandler
     public void onPlayerFish(PlayerFishEvent event) {
         // We only want to give the player experience if they caught a fish/item.
@@ -24,15 +33,16 @@ public final class FishingEventHandler implements Listener {
         }
 
         var item = ((Item) event.getCaught()).getItemStack();
-        var maybeFishable = Fishable.forMaterial(item.getType());
+        int experience = fishing.getFishables().getExperience(item.getType());
 
-        if (maybeFishable.isEmpty()) {
+        // Items that are not in the table, or that provide no experience, are ignored.
+        if (experience <= 0) {
             return;
         }
 
         var player = event.getPlayer();
 
         SkillManager.getInstance().createExperienceOrb(player, player.getLocation(), Skill.FISHING,
-            maybeFishable.get().getFishingExperience() * item.getAmount());
+            experience * item.getAmount());
     }
 }
@@ -1,10 +1,16 @@
 package com.github.jhg023.spigot.skill.mining;
 
-import com.github.jhg023.spigot.skill.mining.event.MiningEventHandler;
+import com.github.jhg023.spigot.skill.Skill;
+import com.github.jhg023.spigot.skill.SkillManager;
+import com.github.jhg023.spigot.skill.material.GatheringSkill;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
  * The main class of the Mining Skill plugin.
+ * <br><br>
+ * The blocks that can be mined, and the pickaxes, are loaded from this plugin's configuration and registered as a
+ * {@link GatheringSkill}, whose block events are handled by the Skill plugin.
  *
  * @author Jacob Glickman
  * @version January 6, 2020
@@ -13,6 +19,27 @@ public final class Mining extends JavaPlugin {
 
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new MiningEventHandler(), this);
+        saveDefaultConfig();
+
+        var manager = SkillManager.getInstance();
+
+        manager.registerGatheringSkill(this, loadGatheringSkill());
+        manager.registerReloadable(this, () -> {
+            reloadConfig();
+            manager.registerGatheringSkill(this, loadGatheringSkill());
+        });
+    }
+
+    /**
+     * Loads the blocks that can be mined, and the pickaxes, from this plugin's configuration.
+     *
+     * @return the gathering skill.
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    private GatheringSkill loadGatheringSkill() {
+        var config = getConfig();
+
+        return new GatheringSkill(Skill.MINING, MaterialTable.load(config.getConfigurationSection("mineables")),
+            MaterialTable.load(config.getConfigurationSection("pickaxes")), name -> "mine &a" + name + "&f!", false);
     }
 }
@@ -1,10 +1,17 @@
 package com.github.jhg023.spigot.skill.woodcutting;
 
-import com.github.jhg023.spigot.skill.woodcutting.event.WoodcuttingEventHandler;
+import com.github.jhg023.spigot.skill.Skill;
+import com.github.jhg023.spigot.skill.SkillManager;
+import com.github.jhg023.spigot.skill.material.GatheringSkill;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
 import org.bukkit.plugin.java.JavaPlugin;
 
 /**
  * The main class of the Woodcutting Skill plugin.
+ * <br><br>
+ * The logs that can be chopped, and the axes, are loaded from this plugin's configuration and registered as a
+ * {@link GatheringSkill}, whose block events are handled by the Skill plugin.
  *
  * @author Jacob Glickman
  * @version January 9, 2020
@@ -13,6 +20,28 @@ public final class Woodcutting extends JavaPlugin {
 
     @Override
     public void onEnable() {
-        getServer().getPluginManager().registerEvents(new WoodcuttingEventHandler(), this);
+        saveDefaultConfig();
+
+        var manager = SkillManager.getInstance();
+
+        manager.registerGatheringSkill(this, loadGatheringSkill());
+        manager.registerReloadable(this, () -> {
+            reloadConfig();
+            manager.registerGatheringSkill(this, loadGatheringSkill());
+        });
+    }
+
+    /**
+     * Loads the logs that can be chopped, and the axes, from this plugin's configuration.
+     *
+     * @return the gathering skill.
+     * @throws IllegalArgumentException if the configuration is invalid.
+     */
+    private GatheringSkill loadGatheringSkill() {
+        var config = getConfig();
+
+        return new GatheringSkill(Skill.WOODCUTTING, MaterialTable.load(config.getConfigurationSection("logs")),
+            MaterialTable.load(config.getConfigurationSection("axes")),
+            name -> "chop " + SkillUtility.getIndefiniteArticle(name) + " &a" + name + "&f!", true);
     }
 }
@@ -0,0 +1,171 @@
+package com.github.jhg023.spigot.skill;
+
+/**
+ * Decides when a failing operation, such as flushing pending experience to the database, may be attempted again.
+ * <br><br>
+ * After each consecutive failure, the next attempt is delayed exponentially, from an initial delay up to a maximum
+ * delay. Once a threshold of consecutive failures is reached, the breaker <em>opens</em>, and no attempt is allowed for
+ * a fixed period. After that period, a single trial attempt is allowed (the breaker is <em>half-open</em>); if it
+ * succeeds, the breaker closes, and if it fails, the breaker opens again.
+ * <br><br>
+ * Every method of this class is {@code synchronized}, as attempts are made from any thread.
+ *
+ * @author Jacob Glickman
+ * @version January 31, 2020
+ */
+final class CircuitBreaker {
+
+    /**
+     * The states of a {@link CircuitBreaker}.
+     */
+    enum State {
+
+        /**
+         * Attempts are allowed once any backoff delay has passed.
+         */
+        CLOSED,
+
+        /**
+         * No attempt is allowed until the open period has passed.
+         */
+        OPEN,
+
+        /**
+         * A single trial attempt is in progress.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The delay, in nanoseconds, after the first failure.
+     */
+    private final long initialDelayNanos;
+
+    /**
+     * The maximum delay, in nanoseconds, between two attempts while the breaker is closed.
+     */
+    private final long maximumDelayNanos;
+
+    /**
+     * The number of consecutive failures that open the breaker.
+     */
+    private final int failureThreshold;
+
+    /**
+     * The amount of time, in nanoseconds, for which the breaker stays open.
+     */
+    private final long openNanos;
+
+    /**
+     * The current state.
+     */
+    private State state = State.CLOSED;
+
+    /**
+     * The number of consecutive failures.
+     */
+    private int failures;
+
+    /**
+     * The time, as returned by {@link System#nanoTime()}, before which no attempt is allowed, which is only meaningful
+     * once an attempt has failed, as any value may be a valid time.
+     */
+    private long nextAttemptNanos;
+
+    /**
+     * Creates a new, closed {@link CircuitBreaker}.
+     *
+     * @param initialDelayNanos the delay, in nanoseconds, after the first failure.
+     * @param maximumDelayNanos the maximum delay, in nanoseconds, between two attempts while the breaker is closed.
+     * @param failureThreshold  the number of consecutive failures that open the breaker.
+     * @param openNanos         the amount of time, in nanoseconds, for which the breaker stays open.
+     */
+    CircuitBreaker(long initialDelayNanos, long maximumDelayNanos, int failureThreshold, long openNanos) {
+        this.initialDelayNanos = Math.max(1L, initialDelayNanos);
+        this.maximumDelayNanos = Math.max(this.initialDelayNanos, maximumDelayNanos);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openNanos;
+    }
+
+    /**
+     * Determines whether or not an attempt may be made now, and if the breaker is open and its open period has passed,
+     * allows the single trial attempt.
+     *
+     * @param now the current time, as returned by {@link System#nanoTime()}.
+     * @return {@code true} if an attempt may be made, otherwise {@code false}.
+     */
+    synchronized boolean allowAttempt(long now) {
+        if (state == State.HALF_OPEN) {
+            return false;
+        }
+
+        if (state == State.CLOSED && failures == 0) {
+            return true;
+        }
+
+        if (now - nextAttemptNanos < 0L) {
+            return false;
+        }
+
+        if (state == State.OPEN) {
+            state = State.HALF_OPEN;
+        }
+
+        return true;
+    }
+
+    /**
+     * Records a successful attempt, which closes the breaker.
+     *
+     * @return the number of consecutive failures that preceded the success.
+     */
+    synchronized int onSuccess() {
+        int failures = this.failures;
+
+        this.failures = 0;
+        this.state = State.CLOSED;
+        return failures;
+    }
+
+    /**
+     * Records a failed attempt, which delays the next attempt and may open the breaker.
+     *
+     * @param now the current time, as returned by {@link System#nanoTime()}.
+     * @return the delay, in nanoseconds, before the next attempt is allowed.
+     */
+    synchronized long onFailure(long now) {
+        failures++;
+
+        long delay;
+
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            delay = openNanos;
+        } else {
+            // Double the delay with every failure, without overflowing.
+            int doublings = Math.min(failures - 1, Long.numberOfLeadingZeros(initialDelayNanos) - 1);
+            delay = Math.min(maximumDelayNanos, initialDelayNanos << doublings);
+        }
+
+        nextAttemptNanos = now + delay;
+        return delay;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the state.
+     */
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of consecutive failures.
+     *
+     * @return the number of failures.
+     */
+    synchronized int getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A double-buffered, write-behind buffer of pending experience that has not yet been published to the database.
+ * <br><br>
+ * Experience is added to the current <em>generation</em> of the buffer. When the buffer is flushed, a fresh generation
+ * is atomically swapped in and the old one is sealed into an immutable {@link ExperienceSnapshot}, giving the flusher a
+ * consistent cut of every delta added before the swap while new deltas land in the fresh generation. Neither side ever
+ * takes a lock.
+ * <br><br>
+ * If the buffer is backed by an {@link ExperienceJournal}, every delta is appended to the current generation's journal
+ * segment before it is added to memory, and each snapshot carries the segments of its generation, so that they can be
+ * committed once the snapshot has been published.
+ * <br><br>
+ * {@link #add(UUID, Skill, int)} must only ever be invoked by a single thread (the main server thread), whereas
+ * {@link #swap()} may be invoked by any thread.
+ *
+ * @author Jacob Glickman
+ * @version January 19, 2020
+ */
+public final class ExperienceBuffer {
+
+    /**
+     * The generation that experience is currently being added to.
+     */
+    private final AtomicReference<Generation> current;
+
+    /**
+     * The journal that deltas are written to, or {@code null} if they are not journaled.
+     */
+    private final ExperienceJournal journal;
+
+    /**
+     * Creates a new {@link ExperienceBuffer} that does not journal its deltas.
+     */
+    public ExperienceBuffer() {
+        this(null);
+    }
+
+    /**
+     * Creates a new {@link ExperienceBuffer} that journals its deltas to the specified journal.
+     *
+     * @param journal the journal, or {@code null} if deltas should not be journaled.
+     */
+    public ExperienceBuffer(ExperienceJournal journal) {
+        this.journal = journal;
+        this.current = new AtomicReference<>(new Generation(journal));
+    }
+
+    /**
+     * Adds the specified amount of pending experience for the specified {@link Player player} in the specified
+     * {@link Skill skill} to the current generation.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param skill  the skill.
+     * @param amount the amount of experience.
+     */
+    public void add(UUID uuid, Skill skill, int amount) {
+        Generation generation;
+
+        // Announce the write before re-checking that the generation is still current, so that a concurrent swap
+        // either sees this write in progress and waits for it, or this write sees the swap and moves to the new
+        // generation.
+        while (true) {
+            generation = current.get();
+            generation.writing = true;
+
+            if (current.get() == generation) {
+                break;
+            }
+
+            generation.writing = false;
+        }
+
+        try {
+            generation.add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), skill.ordinal(), amount);
+        } finally {
+            generation.writing = false;
+        }
+    }
+
+    /**
+     * Swaps a fresh generation into this buffer and seals the old one.
+     *
+     * @return an immutable snapshot of every delta that was added to the old generation.
+     */
+    public ExperienceSnapshot swap() {
+        var sealed = current.getAndSet(new Generation(journal));
+
+        // Wait for a write that began before the swap to finish; it is never more than a few array stores.
+        while (sealed.writing) {
+            Thread.onSpinWait();
+        }
+
+        return sealed.seal();
+    }
+
+    /**
+     * Gets the number of players with pending experience in the current generation.
+     * <br><br>
+     * This method may be invoked from any thread, in which case the count may lag slightly behind the writer.
+     *
+     * @return the number of players.
+     */
+    public int getPendingPlayers() {
+        return current.get().size;
+    }
+
+    /**
+     * Gets the total amount of pending experience, across every player and skill, in the current generation.
+     * <br><br>
+     * This method may be invoked from any thread, in which case the total may lag slightly behind the writer.
+     *
+     * @return the total amount of experience.
+     */
+    public long getPendingExperience() {
+        return current.get().total;
+    }
+
+    /**
+     * A single generation of pending experience, stored in an insert-only, open-addressing table keyed by the two
+     * {@code long}s that make up a {@link UUID}.
+     */
+    private static final class Generation {
+
+        /**
+         * The number of {@link Skill skills}, which is also the number of deltas per player.
+         */
+        private static final int SKILL_COUNT = Skill.values().length;
+
+        /**
+         * The initial number of slots in the table.
+         */
+        private static final int DEFAULT_CAPACITY = 256;
+
+        /**
+         * The journal that this generation's deltas are written to, or {@code null} if they are not journaled.
+         */
+        private final ExperienceJournal journal;
+
+        /**
+         * Every journal segment that this generation has written to.
+         */
+        private final List<JournalSegment> segments = new ArrayList<>(1);
+
+        /**
+         * The journal segment that deltas are currently written to, or {@code null} if they are not journaled.
+         */
+        private JournalSegment segment;
+
+        /**
+         * Whether or not a write to this generation is in progress.
+         */
+        private volatile boolean writing;
+
+        /**
+         * The most and least significant bits of each slot's {@link UUID}.
+         */
+        private long[] keys = new long[DEFAULT_CAPACITY * 2];
+
+        /**
+         * The deltas of each slot, where the deltas of a slot begin at index {@code slot * SKILL_COUNT}.
+         */
+        private int[] deltas = new int[DEFAULT_CAPACITY * SKILL_COUNT];
+
+        /**
+         * Whether or not each slot is occupied.
+         */
+        private boolean[] used = new boolean[DEFAULT_CAPACITY];
+
+        /**
+         * The number of occupied slots.
+         */
+        private int size;
+
+        /**
+         * The sum of every delta that has been added.
+         */
+        private long total;
+
+        /**
+         * Creates a new, empty generation, taking its first journal segment from the journal's spares.
+         *
+         * @param journal the journal that deltas are written to, or {@code null} if they should not be journaled.
+         */
+        private Generation(ExperienceJournal journal) {
+            this.journal = journal;
+
+            if (journal != null && (segment = journal.takeSegment()) != null) {
+                segments.add(segment);
+            }
+        }
+
+        /**
+         * Adds the specified delta to the specified key's deltas, journaling it first.
+         *
+         * @param msb     the most significant bits of the key.
+         * @param lsb     the least significant bits of the key.
+         * @param ordinal the ordinal of the skill.
+         * @param amount  the delta.
+         */
+        private void add(long msb, long lsb, int ordinal, int amount) {
+            // When the segment is full, continue in a new one.
+            if (segment != null && !segment.append(msb, lsb, ordinal, amount) &&
+                    (segment = journal.takeSegment()) != null) {
+                segments.add(segment);
+                segment.append(msb, lsb, ordinal, amount);
+            }
+
+            int slot = indexOf(msb, lsb);
+
+            if (!used[slot]) {
+                if ((size + 1) * 2 > used.length) {
+                    resize();
+                    slot = indexOf(msb, lsb);
+                }
+
+                keys[slot << 1] = msb;
+                keys[(slot << 1) + 1] = lsb;
+                used[slot] = true;
+                size++;
+            }
+
+            deltas[slot * SKILL_COUNT + ordinal] += amount;
+            total += amount;
+        }
+
+        /**
+         * Compacts this generation into an immutable snapshot.
+         *
+         * @return the snapshot.
+         */
+        private ExperienceSnapshot seal() {
+            if (size == 0) {
+                // There is nothing to publish, so the generation's segments hold nothing that needs to be replayed.
+                if (!segments.isEmpty()) {
+                    journal.commit(segments);
+                }
+
+                return ExperienceSnapshot.EMPTY;
+            }
+
+            var compactKeys = new long[size * 2];
+            var compactDeltas = new int[size * SKILL_COUNT];
+            int index = 0;
+
+            for (int slot = 0; slot < used.length; slot++) {
+                if (!used[slot]) {
+                    continue;
+                }
+
+                compactKeys[index << 1] = keys[slot << 1];
+                compactKeys[(index << 1) + 1] = keys[(slot << 1) + 1];
+                System.arraycopy(deltas, slot * SKILL_COUNT, compactDeltas, index * SKILL_COUNT, SKILL_COUNT);
+                index++;
+            }
+
+            return new ExperienceSnapshot(compactKeys, compactDeltas, size, journal, List.copyOf(segments));
+        }
+
+        /**
+         * Finds the slot that contains the specified key, or the empty slot that it would be inserted into.
+         *
+         * @param msb the most significant bits of the key.
+         * @param lsb the least significant bits of the key.
+         * @return the slot.
+         */
+        private int indexOf(long msb, long lsb) {
+            int mask = used.length - 1;
+            int slot = PlayerSkillStore.hash(msb, lsb) & mask;
+
+            while (used[slot] && (keys[slot << 1] != msb || keys[(slot << 1) + 1] != lsb)) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+
+        /**
+         * Doubles the capacity of the table and rehashes every key.
+         */
+        private void resize() {
+            var oldKeys = keys;
+            var oldDeltas = deltas;
+            var oldUsed = used;
+
+            keys = new long[oldKeys.length * 2];
+            deltas = new int[oldDeltas.length * 2];
+            used = new boolean[oldUsed.length * 2];
+
+            for (int oldSlot = 0; oldSlot < oldUsed.length; oldSlot++) {
+                if (!oldUsed[oldSlot]) {
+                    continue;
+                }
+
+                int slot = indexOf(oldKeys[oldSlot << 1], oldKeys[(oldSlot << 1) + 1]);
+
+                keys[slot << 1] = oldKeys[oldSlot << 1];
+                keys[(slot << 1) + 1] = oldKeys[(oldSlot << 1) + 1];
+                used[slot] = true;
+                System.arraycopy(oldDeltas, oldSlot * SKILL_COUNT, deltas, slot * SKILL_COUNT, SKILL_COUNT);
+            }
+        }
+    }
+}
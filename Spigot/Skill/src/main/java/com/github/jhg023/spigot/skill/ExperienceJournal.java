@@ -0,0 +1,329 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.Bukkit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * An append-only, memory-mapped journal of pending experience deltas, which lets experience that was gained since the
+ * last flush be recovered after the server crashes or is killed.
+ * <br><br>
+ * Every generation of an {@link ExperienceBuffer} writes its deltas to its own {@link JournalSegment segments} before
+ * adding them to memory. Once the snapshot of a generation has been published and committed, it is
+ * {@link ExperienceSnapshot#acknowledge() acknowledged}, which commits the generation's segments. Segments that are
+ * still uncommitted when the plugin starts therefore hold exactly the deltas that never reached the database, and are
+ * {@link #recover() recovered} and replayed before any new experience is gained.
+ * <br><br>
+ * Committed segments are emptied and kept as spares, which new generations take their segments from, so that
+ * swapping generations, or continuing in a new segment when one is full, does not create or map a file. New files are
+ * only created to keep a minimum number of spares, on the thread that commits, or when every spare has been taken.
+ * <br><br>
+ * A crash between a flush committing and its segments being committed causes those deltas to be replayed once more,
+ * which is a window of microseconds, rather than the entire interval between two flushes.
+ *
+ * @author Jacob Glickman
+ * @version January 30, 2020
+ */
+public final class ExperienceJournal {
+
+    /**
+     * The names of segment files, which contain the segment's sequence number.
+     */
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.journal");
+
+    /**
+     * The number of spare segments that are kept ready to be taken.
+     */
+    private static final int MINIMUM_SPARE_SEGMENTS = 2;
+
+    /**
+     * The maximum number of spare segments, beyond which committed segments are deleted rather than kept.
+     */
+    private static final int MAXIMUM_SPARE_SEGMENTS = 4;
+
+    /**
+     * The directory that segments are stored in.
+     */
+    private final Path directory;
+
+    /**
+     * The length, in bytes, of each segment.
+     */
+    private final int segmentLength;
+
+    /**
+     * The segments that were left behind by a previous run, which have not been recovered yet.
+     */
+    private final List<Path> leftover = new ArrayList<>();
+
+    /**
+     * Every segment that has been created but not committed.
+     */
+    private final Set<JournalSegment> open = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The empty segments that are ready to be taken, which are only accessed while holding this object's lock.
+     */
+    private final Deque<JournalSegment> spares = new ArrayDeque<>();
+
+    /**
+     * The sequence number of the next segment.
+     */
+    private long sequence;
+
+    /**
+     * Opens the journal in the specified directory, creating the directory if it does not exist.
+     *
+     * @param directory     the directory that segments are stored in.
+     * @param segmentLength the length, in bytes, of each segment.
+     * @throws IOException if the directory could not be created or listed.
+     * @throws IllegalArgumentException if a segment cannot hold at least one entry.
+     */
+    public ExperienceJournal(Path directory, int segmentLength) throws IOException {
+        if (segmentLength < JournalSegment.HEADER_LENGTH + JournalSegment.ENTRY_LENGTH) {
+            throw new IllegalArgumentException("A journal segment must be able to hold at least one entry!");
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentLength = segmentLength;
+
+        try (var paths = Files.list(directory)) {
+            paths.forEach((Path path) -> {
+                var matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+
+                if (matcher.matches()) {
+                    leftover.add(path);
+                    sequence = Math.max(sequence, Long.parseLong(matcher.group(1)) + 1L);
+                }
+            });
+        }
+
+        leftover.sort(null);
+    }
+
+    /**
+     * Reads every segment that was left behind by a previous run into a single snapshot, which, once it has been
+     * published and committed, must be {@link ExperienceSnapshot#acknowledge() acknowledged}.
+     *
+     * @return the deltas that were never published, summed per player.
+     * @throws IOException if a segment could not be read.
+     */
+    public ExperienceSnapshot recover() throws IOException {
+        var buffer = new ExperienceBuffer();
+        var segments = new ArrayList<JournalSegment>();
+        var skills = Skill.values();
+
+        for (var path : leftover) {
+            var segment = JournalSegment.open(path);
+
+            // Segments that were committed, but could not be deleted, are deleted now.
+            if (segment == null) {
+                Files.deleteIfExists(path);
+                continue;
+            }
+
+            // Segments without entries, such as the spares of the previous run, are kept as spares.
+            if (segment.read((msb, lsb, ordinal, amount) -> buffer.add(new UUID(msb, lsb), skills[ordinal],
+                    amount)) == 0) {
+                recycle(segment);
+                continue;
+            }
+
+            segments.add(segment);
+        }
+
+        leftover.clear();
+        replenish();
+        return buffer.swap().withSegments(this, segments);
+    }
+
+    /**
+     * Takes an empty segment to write to, which is a spare if there is one.
+     * <br><br>
+     * This method may be invoked from any thread.
+     *
+     * @return the segment, or {@code null} if there was no spare and a new segment could not be created, in which case
+     *         the error has been logged.
+     */
+    JournalSegment takeSegment() {
+        JournalSegment segment;
+
+        synchronized (this) {
+            segment = spares.poll();
+        }
+
+        if (segment == null && (segment = createSegment()) == null) {
+            return null;
+        }
+
+        open.add(segment);
+        return segment;
+    }
+
+    /**
+     * Creates a new, empty segment.
+     *
+     * @return the segment, or {@code null} if it could not be created, in which case the error has been logged.
+     */
+    private JournalSegment createSegment() {
+        long sequence;
+
+        synchronized (this) {
+            sequence = this.sequence++;
+        }
+
+        var path = directory.resolve(String.format("segment-%019d.journal", sequence));
+
+        try {
+            return JournalSegment.create(path, segmentLength);
+        } catch (IOException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "The experience journal segment " + path + " could not be created; " +
+                "experience will not be journaled until the next flush!", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the deltas of the specified snapshot to new segments, so that the segments that the deltas were originally
+     * written to can be committed even though only some of their deltas were published.
+     *
+     * @param snapshot the deltas that were not published.
+     * @return a copy of the snapshot that holds only the new segments, or {@code null} if they could not be created.
+     */
+    ExperienceSnapshot rewrite(ExperienceSnapshot snapshot) {
+        var segments = new ArrayList<JournalSegment>();
+        var skills = Skill.values();
+        var segment = (JournalSegment) null;
+
+        for (int index = 0; index < snapshot.size(); index++) {
+            var uuid = snapshot.getUniqueId(index);
+
+            for (var skill : skills) {
+                int delta = snapshot.getDelta(index, skill);
+
+                if (delta == 0) {
+                    continue;
+                }
+
+                long msb = uuid.getMostSignificantBits();
+                long lsb = uuid.getLeastSignificantBits();
+
+                while (segment == null || !segment.append(msb, lsb, skill.ordinal(), delta)) {
+                    if ((segment = takeSegment()) == null) {
+                        commit(segments);
+                        return null;
+                    }
+
+                    segments.add(segment);
+                }
+            }
+        }
+
+        return snapshot.withSegments(this, segments);
+    }
+
+    /**
+     * Commits the specified segments, so that their entries are never replayed, and keeps them as spares.
+     *
+     * @param segments the segments.
+     */
+    void commit(List<JournalSegment> segments) {
+        for (var segment : segments) {
+            open.remove(segment);
+            segment.commit();
+            recycle(segment);
+        }
+
+        replenish();
+    }
+
+    /**
+     * Empties the specified committed segment and keeps it as a spare, or deletes it if there are enough spares, or if
+     * its length is no longer the configured length.
+     *
+     * @param segment the segment.
+     */
+    private void recycle(JournalSegment segment) {
+        if (segment.getLength() == segmentLength) {
+            segment.recycle();
+
+            synchronized (this) {
+                if (spares.size() < MAXIMUM_SPARE_SEGMENTS) {
+                    spares.add(segment);
+                    return;
+                }
+            }
+        }
+
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            Bukkit.getLogger().log(Level.WARNING, "The committed experience journal segment " + segment.getPath() +
+                " could not be deleted; it will be deleted when the plugin next starts.", e);
+        }
+    }
+
+    /**
+     * Creates new segments until there are at least {@link #MINIMUM_SPARE_SEGMENTS} spares, or one cannot be created.
+     */
+    private void replenish() {
+        while (true) {
+            synchronized (this) {
+                if (spares.size() >= MINIMUM_SPARE_SEGMENTS) {
+                    return;
+                }
+            }
+
+            var segment = createSegment();
+
+            if (segment == null) {
+                return;
+            }
+
+            synchronized (this) {
+                spares.add(segment);
+            }
+        }
+    }
+
+    /**
+     * Writes every open segment's entries that are only in the page cache to disk, so that they also survive a crash
+     * of the operating system.
+     * <br><br>
+     * This method may be invoked from any thread.
+     */
+    public void force() {
+        for (var segment : open) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Gets the number of segments that have been created but not committed.
+     *
+     * @return the number of open segments.
+     */
+    public int getOpenSegmentCount() {
+        return open.size();
+    }
+
+    /**
+     * Gets the number of empty segments that are ready to be taken.
+     *
+     * @return the number of spare segments.
+     */
+    public synchronized int getSpareSegmentCount() {
+        return spares.size();
+    }
+}
@@ -0,0 +1,367 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.leaderboard.ExperiencePeriod;
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes an {@link ExperienceSnapshot} to the database with parameterized statements that write every skill column
+ * of a {@link Player player} in a single row.
+ * <br><br>
+ * Every statement has the same shape regardless of which skills a player gained experience in (unchanged columns are
+ * incremented by {@code 0}), so the database only ever has to parse one or two distinct statements per flush.
+ * <br><br>
+ * If period counters are enabled, each player's deltas are also added to their row of the current bucket of every
+ * {@link ExperiencePeriod period}, with multi-row upserts in the same transaction, so a flush either persists a delta
+ * everywhere or nowhere.
+ *
+ * @author Jacob Glickman
+ * @version January 20, 2020
+ */
+public final class ExperiencePublisher {
+
+    /**
+     * The name of the table that stores every player's experience.
+     */
+    private static final String TABLE = "`survival_player_skill_data`";
+
+    /**
+     * The name of the table that stores every player's gains in every bucket of every period.
+     */
+    private static final String PERIOD_TABLE = "`survival_player_skill_period`";
+
+    /**
+     * The columns that identify a row of {@link #PERIOD_TABLE}, in the order that they are bound.
+     */
+    private static final String PERIOD_KEY = "`period`, `period_start`, `uuid`";
+
+    /**
+     * A cached copy of {@link ExperiencePeriod#values()}.
+     */
+    private static final ExperiencePeriod[] PERIODS = ExperiencePeriod.values();
+
+    /**
+     * The number of {@link Skill skills}, which is also the number of experience columns per row.
+     */
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    /**
+     * The strategies that can be used to publish a snapshot.
+     */
+    public enum Mode {
+
+        /**
+         * A batch of {@code UPDATE} statements, one per player.
+         */
+        BATCHED_UPDATE,
+
+        /**
+         * Explicit multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE} statements.
+         */
+        MULTI_ROW_UPSERT,
+
+        /**
+         * A batch of single-row {@code INSERT ... ON DUPLICATE KEY UPDATE} statements, which the driver rewrites into
+         * multi-row statements when the {@code rewriteBatchedStatements} connection property is enabled.
+         */
+        REWRITTEN_BATCH
+    }
+
+    /**
+     * The strategy used to publish snapshots.
+     */
+    private final Mode mode;
+
+    /**
+     * The maximum number of rows written by a single multi-row statement or batch.
+     */
+    private final int rowsPerStatement;
+
+    /**
+     * The {@code UPDATE} statement used by {@link Mode#BATCHED_UPDATE}.
+     */
+    private final String updateSql;
+
+    /**
+     * The single-row upsert statement used by {@link Mode#REWRITTEN_BATCH}.
+     */
+    private final String upsertSql;
+
+    /**
+     * Supplies the current bucket of each period, or {@code null} if period counters are disabled.
+     */
+    private final ToIntFunction<ExperiencePeriod> periodStarts;
+
+    /**
+     * Creates a new {@link ExperiencePublisher} without period counters.
+     *
+     * @param mode             the strategy used to publish snapshots.
+     * @param rowsPerStatement the maximum number of rows written by a single {@link Mode#MULTI_ROW_UPSERT} statement,
+     *                         or by a single batch in the other modes.
+     * @throws IllegalArgumentException if {@code rowsPerStatement} is less than {@code 1}.
+     */
+    public ExperiencePublisher(Mode mode, int rowsPerStatement) {
+        this(mode, rowsPerStatement, null);
+    }
+
+    /**
+     * Creates a new {@link ExperiencePublisher}.
+     *
+     * @param mode             the strategy used to publish snapshots.
+     * @param rowsPerStatement the maximum number of rows written by a single {@link Mode#MULTI_ROW_UPSERT} statement,
+     *                         or by a single batch in the other modes.
+     * @param periodStarts     supplies the epoch day on which the current bucket of each period started, such as
+     *                         {@code PeriodLeaderboards::getStart}, or {@code null} to disable period counters.
+     * @throws IllegalArgumentException if {@code rowsPerStatement} is less than {@code 1}.
+     */
+    public ExperiencePublisher(Mode mode, int rowsPerStatement, ToIntFunction<ExperiencePeriod> periodStarts) {
+        if (rowsPerStatement < 1) {
+            throw new IllegalArgumentException("The number of rows per statement must be positive!");
+        }
+
+        this.mode = mode;
+        this.rowsPerStatement = rowsPerStatement;
+        this.updateSql = "UPDATE " + TABLE + " SET " + Arrays.stream(Skill.values())
+            .map(skill -> column(skill) + " = " + column(skill) + " + ?")
+            .collect(Collectors.joining(", ")) + " WHERE `uuid` = ?;";
+        this.upsertSql = upsertSql(TABLE, "`uuid`", 1);
+        this.periodStarts = periodStarts;
+    }
+
+    /**
+     * Publishes the specified snapshot over the specified connection.
+     * <br><br>
+     * The connection's transaction is left for the caller to commit.
+     *
+     * @param connection a connection to the database.
+     * @param snapshot   the snapshot to publish.
+     * @return the number of players whose rows were published.
+     * @throws SQLException if a database error occurs.
+     */
+    public int publish(Connection connection, ExperienceSnapshot snapshot) throws SQLException {
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+
+        switch (mode) {
+            case BATCHED_UPDATE:
+                publishBatch(connection, snapshot, updateSql, false);
+                break;
+            case REWRITTEN_BATCH:
+                publishBatch(connection, snapshot, upsertSql, true);
+                break;
+            case MULTI_ROW_UPSERT:
+                publishMultiRow(connection, snapshot);
+                break;
+            default:
+                throw new IllegalStateException("Unknown publish mode: " + mode);
+        }
+
+        if (periodStarts != null) {
+            publishPeriods(connection, snapshot);
+        }
+
+        return snapshot.size();
+    }
+
+    /**
+     * Publishes the specified snapshot as a batch of single-row statements.
+     *
+     * @param connection a connection to the database.
+     * @param snapshot   the snapshot to publish.
+     * @param sql        the single-row statement.
+     * @param uuidFirst  {@code true} if the statement's first parameter is the unique identifier, or {@code false} if
+     *                   it is the last.
+     * @throws SQLException if a database error occurs.
+     */
+    private void publishBatch(Connection connection, ExperienceSnapshot snapshot, String sql,
+                              boolean uuidFirst) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < snapshot.size(); i++) {
+                bindRow(statement, snapshot, i, 1, uuidFirst);
+                statement.addBatch();
+
+                // Bound the size of each batch, so that the driver never buffers an entire flush at once.
+                if ((i + 1) % rowsPerStatement == 0 || i + 1 == snapshot.size()) {
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes the specified snapshot as a series of multi-row upserts.
+     *
+     * @param connection a connection to the database.
+     * @param snapshot   the snapshot to publish.
+     * @throws SQLException if a database error occurs.
+     */
+    private void publishMultiRow(Connection connection, ExperienceSnapshot snapshot) throws SQLException {
+        int size = snapshot.size();
+        int fullStatements = size / rowsPerStatement;
+        int remainder = size % rowsPerStatement;
+        int index = 0;
+
+        if (fullStatements > 0) {
+            try (var statement = connection.prepareStatement(upsertSql(TABLE, "`uuid`", rowsPerStatement))) {
+                for (int i = 0; i < fullStatements; i++) {
+                    index = bindRows(statement, snapshot, index, rowsPerStatement);
+                    statement.executeUpdate();
+                }
+            }
+        }
+
+        if (remainder > 0) {
+            try (var statement = connection.prepareStatement(upsertSql(TABLE, "`uuid`", remainder))) {
+                bindRows(statement, snapshot, index, remainder);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Adds the deltas of the specified snapshot to the current bucket of every period, as a series of multi-row
+     * upserts that each write one row per player and period.
+     *
+     * @param connection a connection to the database.
+     * @param snapshot   the snapshot to publish.
+     * @throws SQLException if a database error occurs.
+     */
+    private void publishPeriods(Connection connection, ExperienceSnapshot snapshot) throws SQLException {
+        var starts = new int[PERIODS.length];
+
+        // Every row of this flush is attributed to the same buckets, even if one ends while it is being written.
+        for (var period : PERIODS) {
+            starts[period.ordinal()] = periodStarts.applyAsInt(period);
+        }
+
+        int size = snapshot.size() * PERIODS.length;
+        int fullStatements = size / rowsPerStatement;
+        int remainder = size % rowsPerStatement;
+        int row = 0;
+
+        if (fullStatements > 0) {
+            try (var statement = connection.prepareStatement(upsertSql(PERIOD_TABLE, PERIOD_KEY, rowsPerStatement))) {
+                for (int i = 0; i < fullStatements; i++) {
+                    row = bindPeriodRows(statement, snapshot, starts, row, rowsPerStatement);
+                    statement.executeUpdate();
+                }
+            }
+        }
+
+        if (remainder > 0) {
+            try (var statement = connection.prepareStatement(upsertSql(PERIOD_TABLE, PERIOD_KEY, remainder))) {
+                bindPeriodRows(statement, snapshot, starts, row, remainder);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Binds the specified number of consecutive period rows to a multi-row upsert of the period table, where each
+     * player of the specified snapshot has one row per period.
+     *
+     * @param statement the multi-row upsert.
+     * @param snapshot  the snapshot.
+     * @param starts    the current bucket of each period, indexed by {@link ExperiencePeriod#ordinal()}.
+     * @param row       the index of the first period row to bind.
+     * @param rows      the number of period rows to bind.
+     * @return the index of the period row after the last row that was bound.
+     * @throws SQLException if a database error occurs.
+     */
+    private static int bindPeriodRows(PreparedStatement statement, ExperienceSnapshot snapshot, int[] starts, int row,
+                                      int rows) throws SQLException {
+        for (int i = 0; i < rows; i++, row++) {
+            int period = row % PERIODS.length;
+            int offset = i * (SKILL_COUNT + 3) + 1;
+
+            statement.setInt(offset, period);
+            statement.setInt(offset + 1, starts[period]);
+            bindRow(statement, snapshot, row / PERIODS.length, offset + 2, true);
+        }
+
+        return row;
+    }
+
+    /**
+     * Binds the specified number of consecutive rows of the specified snapshot to a multi-row upsert.
+     *
+     * @param statement the multi-row upsert.
+     * @param snapshot  the snapshot.
+     * @param index     the index of the first row to bind.
+     * @param rows      the number of rows to bind.
+     * @return the index of the row after the last row that was bound.
+     * @throws SQLException if a database error occurs.
+     */
+    private static int bindRows(PreparedStatement statement, ExperienceSnapshot snapshot, int index,
+                                int rows) throws SQLException {
+        for (int row = 0; row < rows; row++) {
+            bindRow(statement, snapshot, index++, row * (SKILL_COUNT + 1) + 1, true);
+        }
+
+        return index;
+    }
+
+    /**
+     * Binds the unique identifier and every delta of a single player to the specified statement.
+     *
+     * @param statement the statement.
+     * @param snapshot  the snapshot.
+     * @param index     the index of the player within the snapshot.
+     * @param offset    the index of the first parameter to bind.
+     * @param uuidFirst {@code true} if the unique identifier precedes the deltas, or {@code false} if it follows them.
+     * @throws SQLException if a database error occurs.
+     */
+    private static void bindRow(PreparedStatement statement, ExperienceSnapshot snapshot, int index, int offset,
+                                boolean uuidFirst) throws SQLException {
+        int deltaOffset = uuidFirst ? offset + 1 : offset;
+
+        statement.setBytes(uuidFirst ? offset : offset + SKILL_COUNT, UuidUtility.toBytes(snapshot.getUniqueId(index)));
+
+        for (var skill : Skill.values()) {
+            statement.setInt(deltaOffset + skill.ordinal(), snapshot.getDelta(index, skill));
+        }
+    }
+
+    /**
+     * Builds an upsert that writes the specified number of rows to the specified table, where each row's key columns
+     * precede its experience columns.
+     *
+     * @param table the quoted name of the table.
+     * @param key   the quoted key columns, separated by commas.
+     * @param rows  the number of rows.
+     * @return the upsert.
+     */
+    private static String upsertSql(String table, String key, int rows) {
+        var columns = Arrays.stream(Skill.values()).map(ExperiencePublisher::column).collect(Collectors.joining(", "));
+        int keyCount = key.split(",").length;
+        var row = "(?" + ", ?".repeat(keyCount - 1 + SKILL_COUNT) + ")";
+        var sql = new StringBuilder("INSERT INTO ").append(table).append(" (").append(key).append(", ")
+            .append(columns).append(") VALUES ").append(row);
+
+        for (int i = 1; i < rows; i++) {
+            sql.append(", ").append(row);
+        }
+
+        return sql.append(" ON DUPLICATE KEY UPDATE ").append(Arrays.stream(Skill.values())
+            .map(skill -> column(skill) + " = " + column(skill) + " + VALUES(" + column(skill) + ")")
+            .collect(Collectors.joining(", "))).append(';').toString();
+    }
+
+    /**
+     * Gets the quoted name of the specified {@link Skill skill}'s experience column.
+     *
+     * @param skill the skill.
+     * @return the quoted column name.
+     */
+    private static String column(Skill skill) {
+        return '`' + skill.getDatabaseColumnName() + '`';
+    }
+}
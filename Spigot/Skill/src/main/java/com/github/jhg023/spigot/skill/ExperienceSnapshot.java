@@ -0,0 +1,250 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable snapshot of the pending experience deltas that were buffered during a single generation of an
+ * {@link ExperienceBuffer}.
+ * <br><br>
+ * Each {@link Player player} with a non-zero delta occupies exactly one index of this snapshot, so the snapshot can be
+ * serialized to the database with one row per player.
+ * <br><br>
+ * If the deltas were journaled, the snapshot must be {@link #acknowledge() acknowledged} once it has been published and
+ * committed, so that the deltas are not replayed when the plugin next starts.
+ *
+ * @author Jacob Glickman
+ * @version January 19, 2020
+ */
+public final class ExperienceSnapshot {
+
+    /**
+     * An empty {@link ExperienceSnapshot}.
+     */
+    static final ExperienceSnapshot EMPTY = new ExperienceSnapshot(new long[0], new int[0], 0, null, List.of());
+
+    /**
+     * The number of {@link Skill skills}, which is also the number of deltas per player.
+     */
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    /**
+     * The most and least significant bits of each player's {@link UUID}, at indices {@code 2 * index} and
+     * {@code 2 * index + 1} respectively.
+     */
+    private final long[] keys;
+
+    /**
+     * The deltas of each player, where the deltas of a player begin at index {@code index * SKILL_COUNT}.
+     */
+    private final int[] deltas;
+
+    /**
+     * The number of players in this snapshot.
+     */
+    private final int size;
+
+    /**
+     * The journal that the deltas were written to, or {@code null} if they were not journaled.
+     */
+    private final ExperienceJournal journal;
+
+    /**
+     * The journal segments that hold the deltas.
+     */
+    private final List<JournalSegment> segments;
+
+    /**
+     * Creates a new {@link ExperienceSnapshot} that takes ownership of the specified dense arrays.
+     *
+     * @param keys     the most and least significant bits of each player's unique identifier.
+     * @param deltas   the deltas of each player, indexed by player and then by {@link Skill#ordinal()}.
+     * @param size     the number of players.
+     * @param journal  the journal that the deltas were written to, or {@code null} if they were not journaled.
+     * @param segments the journal segments that hold the deltas.
+     */
+    ExperienceSnapshot(long[] keys, int[] deltas, int size, ExperienceJournal journal, List<JournalSegment> segments) {
+        this.keys = keys;
+        this.deltas = deltas;
+        this.size = size;
+        this.journal = journal;
+        this.segments = segments;
+    }
+
+    /**
+     * Creates a copy of this snapshot whose deltas are held by the specified journal segments.
+     *
+     * @param journal  the journal that the deltas were written to.
+     * @param segments the journal segments that hold the deltas.
+     * @return the copy.
+     */
+    ExperienceSnapshot withSegments(ExperienceJournal journal, List<JournalSegment> segments) {
+        return new ExperienceSnapshot(keys, deltas, size, journal, List.copyOf(segments));
+    }
+
+    /**
+     * Partitions the players of this snapshot into the specified number of shards by the hash of their unique
+     * identifiers, so that each shard can be published independently of the others.
+     * <br><br>
+     * The shards do not hold any journal segments; once every shard has been published, this snapshot must still be
+     * {@link #acknowledge() acknowledged}.
+     *
+     * @param shards the number of shards.
+     * @return the shards, some of which may be empty.
+     */
+    List<ExperienceSnapshot> partition(int shards) {
+        var shardOf = new int[size];
+        var sizes = new int[shards];
+
+        for (int index = 0; index < size; index++) {
+            shardOf[index] = Math.floorMod(PlayerSkillStore.hash(keys[index << 1], keys[(index << 1) + 1]), shards);
+            sizes[shardOf[index]]++;
+        }
+
+        var shardKeys = new long[shards][];
+        var shardDeltas = new int[shards][];
+
+        for (int shard = 0; shard < shards; shard++) {
+            shardKeys[shard] = new long[sizes[shard] * 2];
+            shardDeltas[shard] = new int[sizes[shard] * SKILL_COUNT];
+        }
+
+        var positions = new int[shards];
+
+        for (int index = 0; index < size; index++) {
+            int shard = shardOf[index];
+            int position = positions[shard]++;
+
+            shardKeys[shard][position << 1] = keys[index << 1];
+            shardKeys[shard][(position << 1) + 1] = keys[(index << 1) + 1];
+            System.arraycopy(deltas, index * SKILL_COUNT, shardDeltas[shard], position * SKILL_COUNT, SKILL_COUNT);
+        }
+
+        var partitions = new ArrayList<ExperienceSnapshot>(shards);
+
+        for (int shard = 0; shard < shards; shard++) {
+            partitions.add(new ExperienceSnapshot(shardKeys[shard], shardDeltas[shard], sizes[shard], null, List.of()));
+        }
+
+        return partitions;
+    }
+
+    /**
+     * Merges this snapshot, which could not be published, with a newer snapshot, so that both can be published by a
+     * single retry.
+     * <br><br>
+     * The merged snapshot sums the deltas of players who appear in both, and holds the journal segments of both, so
+     * acknowledging it removes every delta of both from the journal.
+     *
+     * @param newer the newer snapshot.
+     * @return the merged snapshot.
+     */
+    ExperienceSnapshot mergeWith(ExperienceSnapshot newer) {
+        if (newer.isEmpty() && newer.segments.isEmpty()) {
+            return this;
+        }
+
+        var buffer = new ExperienceBuffer();
+        var skills = Skill.values();
+
+        for (var snapshot : List.of(this, newer)) {
+            for (int index = 0; index < snapshot.size; index++) {
+                var uuid = snapshot.getUniqueId(index);
+
+                for (var skill : skills) {
+                    int delta = snapshot.getDelta(index, skill);
+
+                    if (delta != 0) {
+                        buffer.add(uuid, skill, delta);
+                    }
+                }
+            }
+        }
+
+        var segments = new ArrayList<JournalSegment>(this.segments);
+
+        segments.addAll(newer.segments);
+        return buffer.swap().withSegments(journal != null ? journal : newer.journal, segments);
+    }
+
+    /**
+     * Narrows this snapshot, of which only some {@link #partition(int) shards} were published, to the deltas that were
+     * not.
+     * <br><br>
+     * If the deltas were journaled, the unpublished deltas are rewritten to new segments, and this snapshot's segments
+     * are committed, so that the published deltas are never replayed. If new segments cannot be created, the
+     * unpublished deltas keep this snapshot's segments instead, as replaying published deltas after a crash is
+     * preferable to losing unpublished ones.
+     *
+     * @param unpublished the deltas of the shards that were not published.
+     * @return the snapshot to retain in place of this one.
+     */
+    ExperienceSnapshot narrowTo(ExperienceSnapshot unpublished) {
+        if (journal == null || segments.isEmpty()) {
+            return unpublished;
+        }
+
+        var rewritten = journal.rewrite(unpublished);
+
+        if (rewritten == null) {
+            return unpublished.withSegments(journal, segments);
+        }
+
+        acknowledge();
+        return rewritten;
+    }
+
+    /**
+     * Marks every delta of this snapshot as published, which removes them from the journal.
+     * <br><br>
+     * This method must only be invoked once the transaction that published this snapshot has been committed.
+     */
+    public void acknowledge() {
+        if (journal != null && !segments.isEmpty()) {
+            journal.commit(segments);
+        }
+    }
+
+    /**
+     * Gets the number of {@link Player players} that have pending experience in this snapshot.
+     *
+     * @return the number of players.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines whether or not this snapshot contains any pending experience.
+     *
+     * @return {@code true} if this snapshot is empty, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the unique identifier of the {@link Player player} at the specified index.
+     *
+     * @param index the index of the player, from {@code 0} (inclusive) to {@link #size()} (exclusive).
+     * @return the player's unique identifier.
+     */
+    public UUID getUniqueId(int index) {
+        return new UUID(keys[index << 1], keys[(index << 1) + 1]);
+    }
+
+    /**
+     * Gets the pending experience of the {@link Player player} at the specified index in the specified
+     * {@link Skill skill}.
+     *
+     * @param index the index of the player, from {@code 0} (inclusive) to {@link #size()} (exclusive).
+     * @param skill the skill.
+     * @return the player's pending experience in the skill, which may be {@code 0}.
+     */
+    public int getDelta(int index, Skill skill) {
+        return deltas[index * SKILL_COUNT + skill.ordinal()];
+    }
+}
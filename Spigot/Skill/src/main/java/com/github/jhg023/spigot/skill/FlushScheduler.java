@@ -0,0 +1,205 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.metrics.MetricRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decides when pending experience is flushed, based on how much of it there is and on how long recent flushes took.
+ * <br><br>
+ * The scheduler is {@link #run() run} periodically, and flushes when either:
+ * <ul>
+ *     <li>the maximum interval has passed since the last flush, so that a quiet server writes few, larger batches
+ *     while still bounding how much experience a crash can lose; or</li>
+ *     <li>the number of players with pending experience, or the total amount of it, has passed its threshold, and
+ *     the minimum interval has passed since the last flush.</li>
+ * </ul>
+ * The minimum interval is stretched while recent flushes are slow: when the moving average of their durations exceeds
+ * the slow-flush threshold, the minimum interval is multiplied by their ratio, up to the maximum interval. A struggling
+ * database is therefore given fewer, larger flushes, rather than being flushed as often as the backlog would demand.
+ *
+ * @author Jacob Glickman
+ * @version February 2, 2020
+ */
+final class FlushScheduler implements Runnable {
+
+    /**
+     * The weight of the most recent flush in the moving average of flush durations.
+     */
+    private static final double ALPHA = 0.3D;
+
+    /**
+     * Flushes all pending experience on the calling thread, returning whether or not a flush was attempted.
+     */
+    private final BooleanSupplier flush;
+
+    /**
+     * The buffer whose backlog is measured.
+     */
+    private final ExperienceBuffer buffer;
+
+    /**
+     * The minimum time, in nanoseconds, between two flushes triggered by the backlog.
+     */
+    private final long minimumIntervalNanos;
+
+    /**
+     * The maximum time, in nanoseconds, between two flushes.
+     */
+    private final long maximumIntervalNanos;
+
+    /**
+     * The number of players with pending experience that triggers a flush.
+     */
+    private final int playerThreshold;
+
+    /**
+     * The total amount of pending experience that triggers a flush.
+     */
+    private final long experienceThreshold;
+
+    /**
+     * The average flush duration, in nanoseconds, above which the minimum interval is stretched.
+     */
+    private final long slowFlushNanos;
+
+    /**
+     * Whether or not the scheduler is running, so that a slow flush is never overlapped by the next run.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * The number of flushes triggered by the maximum interval having passed.
+     */
+    private final LongAdder intervalTriggers;
+
+    /**
+     * The number of flushes triggered by the backlog.
+     */
+    private final LongAdder backlogTriggers;
+
+    /**
+     * The time of the last flush, as returned by {@link System#nanoTime()}.
+     */
+    private long lastFlushNanos = System.nanoTime();
+
+    /**
+     * The moving average of flush durations, in nanoseconds.
+     */
+    private double averageFlushNanos;
+
+    /**
+     * Creates a new {@link FlushScheduler}, and registers its metrics under {@code flush.scheduler}.
+     *
+     * @param flush                flushes all pending experience on the calling thread, returning {@code false} if
+     *                             no flush was attempted (i.e. because a previous failure has delayed it).
+     * @param buffer               the buffer whose backlog is measured.
+     * @param metrics              the registry that the scheduler's metrics are registered in.
+     * @param minimumIntervalNanos the minimum time, in nanoseconds, between two flushes triggered by the backlog.
+     * @param maximumIntervalNanos the maximum time, in nanoseconds, between two flushes.
+     * @param playerThreshold      the number of players with pending experience that triggers a flush.
+     * @param experienceThreshold  the total amount of pending experience that triggers a flush.
+     * @param slowFlushNanos       the average flush duration, in nanoseconds, above which the minimum interval is
+     *                             stretched.
+     */
+    FlushScheduler(BooleanSupplier flush, ExperienceBuffer buffer, MetricRegistry metrics, long minimumIntervalNanos,
+                   long maximumIntervalNanos, int playerThreshold, long experienceThreshold, long slowFlushNanos) {
+        this.flush = flush;
+        this.buffer = buffer;
+        this.minimumIntervalNanos = Math.max(0L, minimumIntervalNanos);
+        this.maximumIntervalNanos = Math.max(this.minimumIntervalNanos, maximumIntervalNanos);
+        this.playerThreshold = playerThreshold;
+        this.experienceThreshold = experienceThreshold;
+        this.slowFlushNanos = Math.max(1L, slowFlushNanos);
+
+        intervalTriggers = metrics.counter("flush.scheduler.interval-triggers");
+        backlogTriggers = metrics.counter("flush.scheduler.backlog-triggers");
+        metrics.gauge("flush.scheduler.pending.players", buffer::getPendingPlayers);
+        metrics.gauge("flush.scheduler.pending.experience", buffer::getPendingExperience);
+        metrics.gauge("flush.scheduler.average-flush_ms",
+            () -> TimeUnit.NANOSECONDS.toMillis((long) getAverageFlushNanos()));
+        metrics.gauge("flush.scheduler.minimum-interval_ms",
+            () -> TimeUnit.NANOSECONDS.toMillis(getEffectiveMinimumIntervalNanos()));
+        metrics.gauge("flush.scheduler.since-last-flush_ms",
+            () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getLastFlushNanos()));
+    }
+
+    /**
+     * Flushes pending experience if either trigger has been reached.
+     */
+    @Override
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long elapsed = System.nanoTime() - getLastFlushNanos();
+
+            if (elapsed >= maximumIntervalNanos) {
+                if (flush.getAsBoolean()) {
+                    intervalTriggers.increment();
+                }
+            } else if (elapsed >= getEffectiveMinimumIntervalNanos() && isBacklogged()) {
+                if (flush.getAsBoolean()) {
+                    backlogTriggers.increment();
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Records a flush, whatever triggered it, which restarts both intervals.
+     * <br><br>
+     * This method may be invoked from any thread.
+     *
+     * @param durationNanos how long the flush took, in nanoseconds.
+     */
+    synchronized void recordFlush(long durationNanos) {
+        lastFlushNanos = System.nanoTime();
+        averageFlushNanos = averageFlushNanos == 0D ? durationNanos :
+            ALPHA * durationNanos + (1D - ALPHA) * averageFlushNanos;
+    }
+
+    /**
+     * Determines whether or not the backlog has passed either threshold.
+     *
+     * @return {@code true} if a flush should be triggered by the backlog, otherwise {@code false}.
+     */
+    private boolean isBacklogged() {
+        return buffer.getPendingPlayers() >= playerThreshold || buffer.getPendingExperience() >= experienceThreshold;
+    }
+
+    /**
+     * Gets the minimum interval, stretched by the ratio of the average flush duration to the slow-flush threshold.
+     *
+     * @return the minimum interval, in nanoseconds.
+     */
+    private synchronized long getEffectiveMinimumIntervalNanos() {
+        double backoff = Math.max(1D, averageFlushNanos / slowFlushNanos);
+        return (long) Math.min(maximumIntervalNanos, minimumIntervalNanos * backoff);
+    }
+
+    /**
+     * Gets the moving average of flush durations.
+     *
+     * @return the average duration, in nanoseconds.
+     */
+    private synchronized double getAverageFlushNanos() {
+        return averageFlushNanos;
+    }
+
+    /**
+     * Gets the time of the last flush.
+     *
+     * @return the time, as returned by {@link System#nanoTime()}.
+     */
+    private synchronized long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+}
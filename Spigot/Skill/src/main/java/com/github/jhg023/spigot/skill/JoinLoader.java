@@ -0,0 +1,469 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.common.database.LatencyHistogram;
+import com.github.jhg023.spigot.database.Database;
+import com.github.jhg023.spigot.skill.metrics.Meter;
+import com.github.jhg023.spigot.skill.metrics.MetricRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Loads the skill data of {@link Player players} as they log in, coalescing the loads of every player who logs in
+ * within the same tick into a single database round trip.
+ * <br><br>
+ * Concurrent requests for the same player's data share a single load, and the data of players who have recently quit
+ * is kept in a {@link WarmCache}, so that a player who reconnects shortly after quitting is restored without touching
+ * the database at all.
+ * <br><br>
+ * A player's data is requested while they are still logging in (see {@link #prefetch(UUID)}), so that it is usually
+ * already loaded when they join. Requests are collected from any thread, and every tick, the requests collected since
+ * the previous tick are loaded by a single asynchronous connection. Loaded data is installed on the main server thread,
+ * in bulk, for every player that has joined. If a joined player's load fails, it is retried, with exponential
+ * backoff, for as long as they stay online.
+ * <br><br>
+ * This class must be {@link #run() run} every tick on the main server thread.
+ *
+ * @author Jacob Glickman
+ * @version January 25, 2020
+ */
+public final class JoinLoader implements Runnable {
+
+    /**
+     * The number of ticks to wait before retrying a joined player's failed load for the first time.
+     */
+    private static final long INITIAL_RETRY_DELAY_TICKS = 20L;
+
+    /**
+     * The maximum number of ticks to wait before retrying a joined player's failed load.
+     */
+    private static final long MAXIMUM_RETRY_DELAY_TICKS = 600L;
+
+    /**
+     * The plugin that installs loaded data.
+     */
+    private final SkillManager manager;
+
+    /**
+     * The store that loaded experience is installed into.
+     */
+    private final PlayerSkillStore store;
+
+    /**
+     * Loads the skill data of many players at once.
+     */
+    private final PlayerDataLoader loader = new PlayerDataLoader();
+
+    /**
+     * The maximum amount of time, in milliseconds, that a login waits for its player's data to load.
+     */
+    private final long prefetchTimeoutMillis;
+
+    /**
+     * The data of players who have recently quit.
+     */
+    private final WarmCache warmCache;
+
+    /**
+     * The loads that have been requested, but whose data has not yet been installed, keyed by unique identifier.
+     */
+    private final ConcurrentMap<UUID, CompletableFuture<PlayerSkillData>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * The unique identifiers of players whose loads have been requested since the last run.
+     */
+    private final Queue<UUID> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The data of joined players that has loaded since the last run.
+     */
+    private final Queue<PlayerSkillData> ready = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The unique identifiers of joined players whose loads have failed since the last run.
+     */
+    private final Queue<UUID> failed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The retries of joined players' failed loads, keyed by unique identifier, which are only accessed from the main
+     * server thread.
+     */
+    private final Map<UUID, Retry> retries = new HashMap<>();
+
+    /**
+     * The number of times that this loader has run.
+     */
+    private long tick;
+
+    /**
+     * The time taken by each batch of loads, from the connection being acquired until its data is read.
+     */
+    private final LatencyHistogram loadLatency;
+
+    /**
+     * The players whose data has been loaded from the database.
+     */
+    private final Meter loadedPlayers;
+
+    /**
+     * The number of loads that were satisfied by the warm cache.
+     */
+    private final LongAdder warmCacheHits;
+
+    /**
+     * The number of players whose data could not be loaded.
+     */
+    private final LongAdder loadFailures;
+
+    /**
+     * Creates a new {@link JoinLoader}.
+     *
+     * @param manager               the plugin that installs loaded data.
+     * @param store                 the store that loaded experience is installed into.
+     * @param metrics               the registry that this loader's metrics are registered in.
+     * @param prefetchTimeoutMillis the maximum amount of time, in milliseconds, that a login waits for its player's
+     *                              data to load.
+     * @param warmCacheTtlMillis    the amount of time, in milliseconds, that the data of a player who quits is kept.
+     * @param warmCacheSize         the maximum number of players whose data is kept after they quit.
+     */
+    public JoinLoader(SkillManager manager, PlayerSkillStore store, MetricRegistry metrics,
+                      long prefetchTimeoutMillis, long warmCacheTtlMillis, int warmCacheSize) {
+        this.manager = manager;
+        this.store = store;
+        this.prefetchTimeoutMillis = prefetchTimeoutMillis;
+        this.warmCache = new WarmCache(TimeUnit.MILLISECONDS.toNanos(warmCacheTtlMillis), warmCacheSize);
+        this.loadLatency = metrics.histogram("join.load.duration");
+        this.loadedPlayers = metrics.meter("join.loads");
+        this.warmCacheHits = metrics.counter("join.warm-cache.hits");
+        this.loadFailures = metrics.counter("join.load.failures");
+
+        metrics.gauge("join.warm-cache.size", warmCache::size);
+        metrics.gauge("join.in-flight", loads::size);
+    }
+
+    /**
+     * Requests the specified player's data and waits, for no longer than the prefetch timeout, for it to load.
+     * <br><br>
+     * This method is meant to be invoked while the player is logging in, off of the main server thread. If the data
+     * does not load in time, the login continues and the data is installed whenever it arrives.
+     *
+     * @param uuid the unique identifier of the player.
+     */
+    public void prefetch(UUID uuid) {
+        try {
+            load(uuid).get(prefetchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            Bukkit.getLogger().warning("The skill data of " + uuid + " did not load within " + prefetchTimeoutMillis +
+                " ms; it will be installed once it loads.");
+        } catch (ExecutionException e) {
+            // The failure has already been logged, and the load is requested again when the player joins.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Installs the specified {@link Player player}'s data, or, if it has not loaded yet, arranges for it to be
+     * installed once it loads, and for its load to be retried if it fails.
+     * <br><br>
+     * This method must only be invoked from the main server thread.
+     *
+     * @param player the player who joined.
+     */
+    public void join(Player player) {
+        var uuid = player.getUniqueId();
+
+        // If the data was not prefetched, or its prefetch failed, it is requested now.
+        var future = load(uuid);
+
+        retries.remove(uuid);
+
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            install(List.of(future.join()));
+        } else {
+            await(uuid, future);
+        }
+    }
+
+    /**
+     * Discards any requested load of the specified player's data, such as when they fail to log in or quit.
+     *
+     * @param uuid the unique identifier of the player.
+     */
+    public void discard(UUID uuid) {
+        loads.remove(uuid);
+    }
+
+    /**
+     * Keeps the specified data of a player who has just quit, so that it can be restored if they reconnect soon.
+     *
+     * @param data the player's data at the time they quit.
+     */
+    public void retain(PlayerSkillData data) {
+        warmCache.put(data);
+    }
+
+    /**
+     * Installs the data of joined players that has loaded since the last run, and retries the failed loads of joined
+     * players that are due, then loads the data of every player whose load has been requested since the last run with
+     * a single asynchronous connection.
+     */
+    @Override
+    public void run() {
+        tick++;
+
+        if (!ready.isEmpty()) {
+            var data = new ArrayList<PlayerSkillData>();
+
+            for (PlayerSkillData playerData; (playerData = ready.poll()) != null; ) {
+                data.add(playerData);
+            }
+
+            install(data);
+        }
+
+        for (UUID uuid; (uuid = failed.poll()) != null; ) {
+            var retry = retries.computeIfAbsent(uuid, key -> new Retry());
+            long delay = retry.schedule(tick);
+
+            Bukkit.getLogger().warning("The skill data of " + uuid + " could not be loaded; retrying in " +
+                delay / 20L + " seconds.");
+        }
+
+        if (!retries.isEmpty()) {
+            retryDueLoads();
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        var futures = new HashMap<UUID, CompletableFuture<PlayerSkillData>>();
+
+        for (UUID uuid; (uuid = pending.poll()) != null; ) {
+            var future = loads.get(uuid);
+
+            // The load may have been discarded since it was requested.
+            if (future != null) {
+                futures.put(uuid, future);
+            }
+        }
+
+        if (futures.isEmpty()) {
+            return;
+        }
+
+        var uuids = List.copyOf(futures.keySet());
+
+        try {
+            Database.getMySQL().connectAsync((Connection connection) -> {
+                long start = System.nanoTime();
+
+                try {
+                    var data = loader.load(connection, uuids);
+                    loadedPlayers.mark(data.size());
+                    return data;
+                } catch (SQLException e) {
+                    String message = "A SQLException occurred when loading " + uuids.size() + " players' data!";
+                    Bukkit.getLogger().log(Level.SEVERE, message, e);
+                    return null;
+                } finally {
+                    loadLatency.recordSince(start);
+                }
+            }).whenComplete((data, throwable) -> complete(futures, data));
+        } catch (RejectedExecutionException e) {
+            Bukkit.getLogger().log(Level.SEVERE, "The database is too busy to load players' data!", e);
+            complete(futures, null);
+        }
+    }
+
+    /**
+     * Requests the failed loads of joined players that are due to be retried, and forgets the retries of players who
+     * have quit.
+     */
+    private void retryDueLoads() {
+        var iterator = retries.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            var uuid = entry.getKey();
+
+            if (manager.getServer().getPlayer(uuid) == null) {
+                iterator.remove();
+                continue;
+            }
+
+            var retry = entry.getValue();
+
+            if (!retry.isDue(tick)) {
+                continue;
+            }
+
+            // If the player reconnected, their join requested a load of its own.
+            if (loads.containsKey(uuid)) {
+                iterator.remove();
+                continue;
+            }
+
+            retry.start();
+            await(uuid, load(uuid));
+        }
+    }
+
+    /**
+     * Arranges for the specified joined player's data to be installed once it loads, or for the load to be retried if
+     * it fails.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param future the load.
+     */
+    private void await(UUID uuid, CompletableFuture<PlayerSkillData> future) {
+        future.whenComplete((data, throwable) -> {
+            if (throwable == null) {
+                ready.add(data);
+            } else {
+                failed.add(uuid);
+            }
+        });
+    }
+
+    /**
+     * Gets the load of the specified player's data, requesting it if it has not been requested yet.
+     * <br><br>
+     * If the player's data is in the warm cache, the load completes immediately without touching the database.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the load, which completes with the player's data.
+     */
+    private CompletableFuture<PlayerSkillData> load(UUID uuid) {
+        return loads.computeIfAbsent(uuid, key -> {
+            var cached = warmCache.take(key);
+
+            if (cached != null) {
+                warmCacheHits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+
+            pending.add(key);
+            return new CompletableFuture<>();
+        });
+    }
+
+    /**
+     * Completes the specified loads with the specified data. Loads without data are failed and discarded, so that they
+     * are requested again when their player joins, or retried if their player has already joined.
+     *
+     * @param futures the loads, keyed by unique identifier.
+     * @param data    the loaded data, or {@code null} if it could not be loaded.
+     */
+    private void complete(Map<UUID, CompletableFuture<PlayerSkillData>> futures, List<PlayerSkillData> data) {
+        if (data != null) {
+            for (var playerData : data) {
+                futures.get(playerData.getUniqueId()).complete(playerData);
+            }
+        }
+
+        futures.forEach((uuid, future) -> {
+            if (!future.isDone()) {
+                loadFailures.increment();
+                loads.remove(uuid, future);
+                future.completeExceptionally(new IllegalStateException("The skill data of " + uuid +
+                    " could not be loaded!"));
+            }
+        });
+    }
+
+    /**
+     * Installs the specified loaded data for every player that is still online, and shows each of them their tracked
+     * skill.
+     * <br><br>
+     * This method must only be invoked from the main server thread.
+     *
+     * @param data the loaded data.
+     */
+    private void install(List<PlayerSkillData> data) {
+        var installed = new ArrayList<PlayerSkillData>(data.size());
+
+        for (var playerData : data) {
+            var uuid = playerData.getUniqueId();
+
+            // The player may have quit while their data was being loaded; installing it would leak their row.
+            if (loads.remove(uuid) != null && manager.getServer().getPlayer(uuid) != null) {
+                installed.add(playerData);
+                retries.remove(uuid);
+            }
+        }
+
+        store.putAll(installed);
+
+        for (var playerData : installed) {
+            manager.updateTracker(manager.getServer().getPlayer(playerData.getUniqueId()),
+                playerData.getTrackedSkill());
+        }
+    }
+
+    /**
+     * The retries of a joined player's failed load.
+     */
+    private static final class Retry {
+
+        /**
+         * The number of times that the load has failed.
+         */
+        private int failures;
+
+        /**
+         * The tick at which the load is next retried, or {@link Long#MAX_VALUE} if a retry is in flight.
+         */
+        private long dueTick = Long.MAX_VALUE;
+
+        /**
+         * Schedules the next retry after another failure, doubling the delay after each failure.
+         *
+         * @param tick the current tick.
+         * @return the delay, in ticks.
+         */
+        private long schedule(long tick) {
+            long delay = Math.min(MAXIMUM_RETRY_DELAY_TICKS, INITIAL_RETRY_DELAY_TICKS << Math.min(failures, 10));
+
+            failures++;
+            dueTick = tick + delay;
+            return delay;
+        }
+
+        /**
+         * Determines whether or not the load is due to be retried.
+         *
+         * @param tick the current tick.
+         * @return {@code true} if the load is due, otherwise {@code false}.
+         */
+        private boolean isDue(long tick) {
+            return tick >= dueTick;
+        }
+
+        /**
+         * Marks a retry as in flight.
+         */
+        private void start() {
+            dueTick = Long.MAX_VALUE;
+        }
+    }
+}
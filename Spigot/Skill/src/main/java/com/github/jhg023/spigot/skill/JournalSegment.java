@@ -0,0 +1,273 @@
+package com.github.jhg023.spigot.skill;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A single, fixed-size, memory-mapped file of an {@link ExperienceJournal}.
+ * <br><br>
+ * A segment begins with an {@value #HEADER_LENGTH}-byte header, followed by fixed-length entries of
+ * {@value #ENTRY_LENGTH} bytes each: the most and least significant bits of the player's unique identifier, the amount
+ * of experience, and the skill's ordinal plus one. The tag is written last, so an entry whose tag is still {@code 0}
+ * (which is what the preallocated file is filled with) was never completely written and ends the segment.
+ * <br><br>
+ * Entries are written straight into the page cache, so they survive the server process crashing or being killed
+ * without any system call. Surviving a crash of the operating system additionally requires the segment to have been
+ * {@link #force() forced} to disk since the entry was written.
+ * <br><br>
+ * Once a segment has been committed, it can be {@link #recycle() recycled}, which empties it in place, so that the
+ * journal can reuse its file and mapping rather than create a new one.
+ *
+ * @author Jacob Glickman
+ * @version January 30, 2020
+ */
+final class JournalSegment {
+
+    /**
+     * The bytes that every segment begins with, {@code "MCXJ"}.
+     */
+    private static final int MAGIC = 0x4D43584A;
+
+    /**
+     * The offset of the byte that records whether or not a segment has been committed.
+     */
+    private static final int COMMITTED_OFFSET = 4;
+
+    /**
+     * The number of bytes that precede the first entry.
+     */
+    static final int HEADER_LENGTH = 8;
+
+    /**
+     * The number of bytes in a single entry.
+     */
+    static final int ENTRY_LENGTH = 21;
+
+    /**
+     * The number of {@link Skill skills}, used to reject entries that were never completely written.
+     */
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    /**
+     * The zeros that recycled entries are overwritten with.
+     */
+    private static final byte[] ZEROS = new byte[8_192];
+
+    /**
+     * The file that backs this segment.
+     */
+    private final Path path;
+
+    /**
+     * The mapped contents of the file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * The offset at which the next entry is written.
+     */
+    private int position;
+
+    private JournalSegment(Path path, MappedByteBuffer buffer, int position) {
+        this.path = path;
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    /**
+     * Creates, preallocates, and maps a new, empty segment.
+     *
+     * @param path   the file to create, which must not exist.
+     * @param length the length of the file, in bytes.
+     * @return the segment.
+     * @throws IOException if the file could not be created or mapped.
+     */
+    static JournalSegment create(Path path, int length) throws IOException {
+        var segment = new JournalSegment(path, map(path, length, true), HEADER_LENGTH);
+
+        segment.buffer.putInt(0, MAGIC);
+        return segment;
+    }
+
+    /**
+     * Maps an existing segment, such as one that was left behind when the server stopped, so that its entries can be
+     * read.
+     *
+     * @param path the file of the segment.
+     * @return the segment, or {@code null} if the file is not a segment or has already been committed.
+     * @throws IOException if the file could not be mapped.
+     */
+    static JournalSegment open(Path path) throws IOException {
+        var length = Files.size(path);
+
+        if (length < HEADER_LENGTH || length > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        var buffer = map(path, (int) length, false);
+
+        if (buffer.getInt(0) != MAGIC || buffer.get(COMMITTED_OFFSET) != 0) {
+            return null;
+        }
+
+        return new JournalSegment(path, buffer, (int) length);
+    }
+
+    /**
+     * Appends an entry to this segment.
+     * <br><br>
+     * This method must only be invoked by one thread at a time.
+     *
+     * @param msb     the most significant bits of the player's unique identifier.
+     * @param lsb     the least significant bits of the player's unique identifier.
+     * @param ordinal the ordinal of the skill.
+     * @param amount  the amount of experience.
+     * @return {@code true} if the entry was appended, or {@code false} if this segment is full.
+     */
+    boolean append(long msb, long lsb, int ordinal, int amount) {
+        int offset = position;
+
+        if (offset + ENTRY_LENGTH > buffer.capacity()) {
+            return false;
+        }
+
+        buffer.putLong(offset, msb);
+        buffer.putLong(offset + 8, lsb);
+        buffer.putInt(offset + 16, amount);
+        buffer.put(offset + 20, (byte) (ordinal + 1));
+        position = offset + ENTRY_LENGTH;
+        return true;
+    }
+
+    /**
+     * Reads every completely-written entry of this segment, in the order in which they were appended.
+     *
+     * @param consumer accepts each entry.
+     * @return the number of entries that were read.
+     */
+    int read(EntryConsumer consumer) {
+        int count = 0;
+
+        for (int offset = HEADER_LENGTH; offset + ENTRY_LENGTH <= buffer.capacity(); offset += ENTRY_LENGTH) {
+            int ordinal = buffer.get(offset + 20) - 1;
+
+            if (ordinal < 0 || ordinal >= SKILL_COUNT) {
+                break;
+            }
+
+            consumer.accept(buffer.getLong(offset), buffer.getLong(offset + 8), ordinal, buffer.getInt(offset + 16));
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes any entries that are only in the page cache to disk.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Marks every entry of this segment as published, so that they are never replayed.
+     */
+    void commit() {
+        buffer.put(COMMITTED_OFFSET, (byte) 1);
+    }
+
+    /**
+     * Empties this committed segment in place, so that it can be appended to again.
+     * <br><br>
+     * Every entry that was written is overwritten with zeros before the segment is marked as uncommitted, so that no
+     * entry of its previous use is ever replayed.
+     */
+    void recycle() {
+        var entries = buffer.duplicate();
+
+        entries.position(HEADER_LENGTH).limit(Math.min(position, buffer.capacity()));
+
+        while (entries.hasRemaining()) {
+            entries.put(ZEROS, 0, Math.min(ZEROS.length, entries.remaining()));
+        }
+
+        position = HEADER_LENGTH;
+        buffer.put(COMMITTED_OFFSET, (byte) 0);
+    }
+
+    /**
+     * Deletes the file of this committed segment.
+     *
+     * @throws IOException if the file exists but could not be deleted, which is the case on platforms that do not
+     *                     allow a mapped file to be deleted.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Gets the length of this segment's file.
+     *
+     * @return the length, in bytes.
+     */
+    int getLength() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Gets the file that backs this segment.
+     *
+     * @return the file.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Maps the specified file.
+     *
+     * @param path   the file.
+     * @param length the length of the file, in bytes.
+     * @param create {@code true} if the file must be created, otherwise {@code false}.
+     * @return the mapped contents of the file.
+     * @throws IOException if the file could not be mapped.
+     */
+    private static MappedByteBuffer map(Path path, int length, boolean create) throws IOException {
+        if (create) {
+            Files.createFile(path);
+        }
+
+        try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+            if (create) {
+                file.setLength(length);
+            }
+
+            var buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, length);
+
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    /**
+     * Accepts the entries of a segment.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        /**
+         * Accepts an entry.
+         *
+         * @param msb     the most significant bits of the player's unique identifier.
+         * @param lsb     the least significant bits of the player's unique identifier.
+         * @param ordinal the ordinal of the skill.
+         * @param amount  the amount of experience.
+         */
+        void accept(long msb, long lsb, int ordinal, int amount);
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.ExperienceOrb;
+import org.bukkit.entity.Player;
+
+/**
+ * The ways in which the skill experience earned by an action can be handed to a {@link Player player}.
+ *
+ * @author Jacob Glickman
+ * @version January 23, 2020
+ */
+public enum OrbMode {
+
+    /**
+     * Spawns a separate {@link ExperienceOrb} for every action, which is never merged with other orbs.
+     */
+    ENTITY,
+
+    /**
+     * Spawns an {@link ExperienceOrb}, unless an orb that carries experience in the same {@link Skill skill} is nearby,
+     * in which case the experience is added to that orb instead. Orbs that carry the same skill may also merge.
+     */
+    AGGREGATED,
+
+    /**
+     * Credits the experience to the player immediately, without spawning any entity.
+     */
+    DIRECT,
+
+    /**
+     * Credits the experience to the player immediately, and only shows the player a pickup effect where the orb would
+     * have spawned, without spawning any entity.
+     */
+    VISUAL
+}
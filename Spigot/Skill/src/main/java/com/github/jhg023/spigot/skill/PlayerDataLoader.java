@@ -0,0 +1,113 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+import org.bukkit.entity.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the skill data of many {@link Player players} at once, creating a row for each player that does not have one.
+ * <br><br>
+ * Every chunk of players costs exactly two statements, regardless of how many players it contains: a multi-row
+ * {@code INSERT IGNORE} and a {@code SELECT ... WHERE `uuid` IN (...)}.
+ *
+ * @author Jacob Glickman
+ * @version January 24, 2020
+ */
+public final class PlayerDataLoader {
+
+    /**
+     * The name of the table that stores every player's experience.
+     */
+    private static final String TABLE = "`survival_player_skill_data`";
+
+    /**
+     * The {@link Skill skill} that a player tracks if they have not chosen one.
+     */
+    private static final Skill DEFAULT_TRACKED_SKILL = Skill.MINING;
+
+    /**
+     * A cached copy of {@link Skill#values()}, indexed by the ordinals stored in the {@code tracked_skill} column.
+     */
+    private static final Skill[] SKILLS = Skill.values();
+
+    /**
+     * The maximum number of players loaded by a single pair of statements.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    /**
+     * The columns selected for every player.
+     */
+    private static final String COLUMNS = "`uuid`, " + Arrays.stream(Skill.values())
+        .map(skill -> '`' + skill.getDatabaseColumnName() + '`')
+        .collect(Collectors.joining(", ")) + ", `tracked_skill`";
+
+    /**
+     * Loads the skill data of the specified {@link Player players}.
+     * <br><br>
+     * The connection's transaction, which contains the insertion of any missing rows, is left for the caller to
+     * commit.
+     *
+     * @param connection a connection to the database.
+     * @param uuids      the unique identifiers of the players.
+     * @return the skill data of every player, in no particular order.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<PlayerSkillData> load(Connection connection, List<UUID> uuids) throws SQLException {
+        var result = new ArrayList<PlayerSkillData>(uuids.size());
+
+        for (int from = 0; from < uuids.size(); from += MAX_ROWS_PER_STATEMENT) {
+            var chunk = uuids.subList(from, Math.min(uuids.size(), from + MAX_ROWS_PER_STATEMENT));
+
+            try (var statement = connection.prepareStatement("INSERT IGNORE INTO " + TABLE + " (`uuid`) VALUES (?)" +
+                    ", (?)".repeat(chunk.size() - 1) + ';')) {
+                bind(statement, chunk);
+                statement.executeUpdate();
+            }
+
+            try (var statement = connection.prepareStatement("SELECT " + COLUMNS + " FROM " + TABLE +
+                    " WHERE `uuid` IN (?" + ", ?".repeat(chunk.size() - 1) + ");")) {
+                bind(statement, chunk);
+
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var experience = new int[Skill.values().length];
+
+                        for (var skill : Skill.values()) {
+                            experience[skill.ordinal()] = resultSet.getInt(skill.getDatabaseColumnName());
+                        }
+
+                        int trackedSkill = resultSet.getInt("tracked_skill");
+
+                        result.add(new PlayerSkillData(UuidUtility.fromBytes(resultSet.getBytes("uuid")), experience,
+                            trackedSkill < 0 || trackedSkill >= SKILLS.length ? DEFAULT_TRACKED_SKILL :
+                                SKILLS[trackedSkill]));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Binds the specified unique identifiers to the parameters of the specified statement, in order.
+     *
+     * @param statement the statement.
+     * @param uuids     the unique identifiers.
+     * @throws SQLException if a database error occurs.
+     */
+    private static void bind(PreparedStatement statement, List<UUID> uuids) throws SQLException {
+        for (int i = 0; i < uuids.size(); i++) {
+            statement.setBytes(i + 1, UuidUtility.toBytes(uuids.get(i)));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * The skill data of a single {@link Player player}, as loaded from the database.
+ *
+ * @author Jacob Glickman
+ * @version January 24, 2020
+ */
+public final class PlayerSkillData {
+
+    /**
+     * The unique identifier of the player.
+     */
+    private final UUID uuid;
+
+    /**
+     * The player's experience, indexed by {@link Skill#ordinal()}.
+     */
+    private final int[] experience;
+
+    /**
+     * The {@link Skill skill} that the player is tracking.
+     */
+    private final Skill trackedSkill;
+
+    /**
+     * Creates a new {@link PlayerSkillData}.
+     *
+     * @param uuid         the unique identifier of the player.
+     * @param experience   the player's experience, indexed by {@link Skill#ordinal()}.
+     * @param trackedSkill the skill that the player is tracking.
+     */
+    public PlayerSkillData(UUID uuid, int[] experience, Skill trackedSkill) {
+        this.uuid = uuid;
+        this.experience = experience;
+        this.trackedSkill = trackedSkill;
+    }
+
+    /**
+     * Gets the unique identifier of the player.
+     *
+     * @return the unique identifier.
+     */
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    /**
+     * Gets the player's experience, indexed by {@link Skill#ordinal()}.
+     *
+     * @return the experience.
+     */
+    public int[] getExperience() {
+        return experience;
+    }
+
+    /**
+     * Gets the {@link Skill skill} that the player is tracking.
+     *
+     * @return the tracked skill.
+     */
+    public Skill getTrackedSkill() {
+        return trackedSkill;
+    }
+}
@@ -0,0 +1,355 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * An open-addressing table that stores every online {@link Player player}'s per-skill experience and level.
+ * <br><br>
+ * Players are keyed by the two {@code long}s that make up their {@link UUID}, and each player's values are stored in a
+ * single row of a flat {@code int} array that is indexed by {@link Skill#ordinal()}, so no maps, map entries, or boxed
+ * values are allocated per player or per experience grant. Collisions are resolved with linear probing, and removals
+ * use backward-shift deletion so that no tombstones accumulate as players join and quit.
+ * <br><br>
+ * Each player's level in every skill is cached next to their experience and only recomputed when a grant crosses the
+ * next level's threshold, so level requirement checks are a single array read.
+ * <br><br>
+ * Pending experience that has not yet been published to the database is kept separately, in an
+ * {@link ExperienceBuffer}.
+ * <br><br>
+ * Every method of this class is {@code synchronized}, as rows are installed from the thread that loads a player's data.
+ *
+ * @author Jacob Glickman
+ * @version January 18, 2020
+ */
+public final class PlayerSkillStore {
+
+    /**
+     * The value returned by lookups for a {@link Player player} who does not have a row in this store.
+     */
+    public static final int ABSENT = -1;
+
+    /**
+     * The value returned by {@link #addExperience(UUID, Skill, int)} when a grant does not change a player's level.
+     */
+    public static final int NO_LEVEL_UP = 0;
+
+    /**
+     * The number of {@link Skill skills}, which is also the number of columns in each section of a row.
+     */
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    /**
+     * The offset of the level section within a row; the experience section begins at {@code 0}.
+     */
+    private static final int LEVEL_OFFSET = SKILL_COUNT;
+
+    /**
+     * The number of {@code int}s that make up a single row.
+     */
+    private static final int ROW_LENGTH = SKILL_COUNT * 2;
+
+    /**
+     * The initial number of slots in the table, which comfortably fits a full server without resizing.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The most and least significant bits of each slot's {@link UUID}, at indices {@code 2 * slot} and
+     * {@code 2 * slot + 1} respectively.
+     */
+    private long[] keys;
+
+    /**
+     * The rows of each slot, where the row of a slot begins at index {@code slot * ROW_LENGTH}.
+     */
+    private int[] rows;
+
+    /**
+     * Whether or not each slot is occupied.
+     */
+    private boolean[] used;
+
+    /**
+     * The number of occupied slots.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty {@link PlayerSkillStore}.
+     */
+    public PlayerSkillStore() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Installs the specified experience values for the specified {@link Player player}.
+     *
+     * @param uuid       the unique identifier of the player.
+     * @param experience the player's experience, indexed by {@link Skill#ordinal()}.
+     */
+    public synchronized void put(UUID uuid, int[] experience) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int slot = indexOf(msb, lsb);
+
+        if (slot < 0) {
+            slot = insert(msb, lsb, -(slot + 1));
+        }
+
+        int row = slot * ROW_LENGTH;
+
+        for (int i = 0; i < SKILL_COUNT; i++) {
+            rows[row + i] = experience[i];
+            rows[row + LEVEL_OFFSET + i] = SkillUtility.getLevelForExperience(experience[i]);
+        }
+    }
+
+    /**
+     * Installs the experience values of every specified {@link Player player}, holding the lock only once.
+     *
+     * @param data the skill data of the players.
+     */
+    public synchronized void putAll(Collection<PlayerSkillData> data) {
+        for (var playerData : data) {
+            put(playerData.getUniqueId(), playerData.getExperience());
+        }
+    }
+
+    /**
+     * Determines whether or not the specified {@link Player player} has a row in this store.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return {@code true} if the player's experience is available, otherwise {@code false}.
+     */
+    public synchronized boolean contains(UUID uuid) {
+        return indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Gets the specified {@link Player player}'s experience in the specified {@link Skill skill}.
+     *
+     * @param uuid  the unique identifier of the player.
+     * @param skill the skill.
+     * @return the player's experience, or {@link #ABSENT} if the player does not have a row in this store.
+     */
+    public synchronized int getExperience(UUID uuid, Skill skill) {
+        int slot = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        if (slot < 0) {
+            return ABSENT;
+        }
+
+        return rows[slot * ROW_LENGTH + skill.ordinal()];
+    }
+
+    /**
+     * Gets the specified {@link Player player}'s cached level in the specified {@link Skill skill}.
+     *
+     * @param uuid  the unique identifier of the player.
+     * @param skill the skill.
+     * @return the player's level, or {@link #ABSENT} if the player does not have a row in this store.
+     */
+    public synchronized int getLevel(UUID uuid, Skill skill) {
+        int slot = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        if (slot < 0) {
+            return ABSENT;
+        }
+
+        return rows[slot * ROW_LENGTH + LEVEL_OFFSET + skill.ordinal()];
+    }
+
+    /**
+     * Adds the specified amount to the experience of the specified {@link Player player} in the specified
+     * {@link Skill skill}.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param skill  the skill.
+     * @param amount the amount of experience to add.
+     * @return the player's new level if the grant changed it, {@link #NO_LEVEL_UP} if it did not, or {@link #ABSENT}
+     *         (in which case nothing is added) if the player does not have a row in this store.
+     */
+    public synchronized int addExperience(UUID uuid, Skill skill, int amount) {
+        int slot = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        if (slot < 0) {
+            return ABSENT;
+        }
+
+        int index = slot * ROW_LENGTH + skill.ordinal();
+        int experience = rows[index] + amount;
+        int level = rows[index + LEVEL_OFFSET];
+
+        rows[index] = experience;
+
+        // Only recompute the level once the next level's threshold has been crossed.
+        if (experience < SkillUtility.getExperienceForLevel(level + 1)) {
+            return NO_LEVEL_UP;
+        }
+
+        level = SkillUtility.getLevelForExperience(experience);
+        rows[index + LEVEL_OFFSET] = level;
+        return level;
+    }
+
+    /**
+     * Removes the specified {@link Player player} from this store.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the player's experience at the time they were removed, indexed by {@link Skill#ordinal()}, or
+     *         {@code null} if the player did not have a row in this store.
+     */
+    public synchronized int[] evict(UUID uuid) {
+        int slot = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        if (slot < 0) {
+            return null;
+        }
+
+        var experience = Arrays.copyOfRange(rows, slot * ROW_LENGTH, slot * ROW_LENGTH + SKILL_COUNT);
+
+        removeAt(slot);
+        return experience;
+    }
+
+    /**
+     * Gets the number of {@link Player players} that currently occupy a row in this store.
+     *
+     * @return the number of occupied rows.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot of the specified key.
+     *
+     * @param msb the most significant bits of the key.
+     * @param lsb the least significant bits of the key.
+     * @return the slot of the key if it is present, otherwise {@code -(slot + 1)}, where {@code slot} is the empty slot
+     *         that the key would be inserted into.
+     */
+    private int indexOf(long msb, long lsb) {
+        int mask = used.length - 1;
+
+        for (int slot = hash(msb, lsb) & mask; ; slot = (slot + 1) & mask) {
+            if (!used[slot]) {
+                return -(slot + 1);
+            }
+
+            if (keys[slot << 1] == msb && keys[(slot << 1) + 1] == lsb) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Inserts the specified key into the specified empty slot, resizing the table if necessary.
+     *
+     * @param msb  the most significant bits of the key.
+     * @param lsb  the least significant bits of the key.
+     * @param slot the empty slot returned by {@link #indexOf(long, long)}.
+     * @return the slot that the key was inserted into.
+     */
+    private int insert(long msb, long lsb, int slot) {
+        // Keep the load factor at or below 0.5 so that probe sequences stay short.
+        if ((size + 1) * 2 > used.length) {
+            resize();
+            slot = -(indexOf(msb, lsb) + 1);
+        }
+
+        keys[slot << 1] = msb;
+        keys[(slot << 1) + 1] = lsb;
+        used[slot] = true;
+        size++;
+        return slot;
+    }
+
+    /**
+     * Removes the key in the specified slot, shifting any displaced keys that follow it backwards.
+     *
+     * @param slot the occupied slot to remove.
+     */
+    private void removeAt(int slot) {
+        int mask = used.length - 1;
+        int hole = slot;
+
+        for (int i = (slot + 1) & mask; used[i]; i = (i + 1) & mask) {
+            int home = hash(keys[i << 1], keys[(i << 1) + 1]) & mask;
+
+            // The key may only fill the hole if the hole lies between the key's home slot and its current slot.
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole << 1] = keys[i << 1];
+                keys[(hole << 1) + 1] = keys[(i << 1) + 1];
+                System.arraycopy(rows, i * ROW_LENGTH, rows, hole * ROW_LENGTH, ROW_LENGTH);
+                hole = i;
+            }
+        }
+
+        keys[hole << 1] = 0L;
+        keys[(hole << 1) + 1] = 0L;
+        used[hole] = false;
+        Arrays.fill(rows, hole * ROW_LENGTH, (hole + 1) * ROW_LENGTH, 0);
+        size--;
+    }
+
+    /**
+     * Doubles the capacity of the table and rehashes every key.
+     */
+    private void resize() {
+        var oldKeys = keys;
+        var oldRows = rows;
+        var oldUsed = used;
+
+        allocate(oldUsed.length * 2);
+
+        int mask = used.length - 1;
+
+        for (int oldSlot = 0; oldSlot < oldUsed.length; oldSlot++) {
+            if (!oldUsed[oldSlot]) {
+                continue;
+            }
+
+            long msb = oldKeys[oldSlot << 1];
+            long lsb = oldKeys[(oldSlot << 1) + 1];
+            int slot = hash(msb, lsb) & mask;
+
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot << 1] = msb;
+            keys[(slot << 1) + 1] = lsb;
+            used[slot] = true;
+            System.arraycopy(oldRows, oldSlot * ROW_LENGTH, rows, slot * ROW_LENGTH, ROW_LENGTH);
+        }
+    }
+
+    /**
+     * Allocates empty backing arrays with the specified number of slots.
+     *
+     * @param capacity the number of slots, which must be a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity * 2];
+        rows = new int[capacity * ROW_LENGTH];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * Spreads the bits of a {@link UUID}'s two halves into a single {@code int} hash.
+     *
+     * @param msb the most significant bits of the key.
+     * @param lsb the least significant bits of the key.
+     * @return the hash of the key.
+     */
+    static int hash(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.jhg023.spigot.skill;
+
+/**
+ * A skill plugin whose configuration can be reloaded with {@code /skillreload}, without restarting the server.
+ * <br><br>
+ * Implementations should build everything that they derive from their configuration before they replace any of it,
+ * so that a reload which fails leaves the previous configuration in effect, and so that event handlers never observe a
+ * partially reloaded state.
+ *
+ * @author Jacob Glickman
+ * @version February 7, 2020
+ * @see SkillManager#registerReloadable(org.bukkit.plugin.Plugin, Reloadable)
+ */
+@FunctionalInterface
+public interface Reloadable {
+
+    /**
+     * Reloads the plugin's configuration from disk and applies it.
+     * <br><br>
+     * This method is invoked asynchronously.
+     *
+     * @throws IllegalArgumentException if the configuration is invalid, in which case nothing has been applied.
+     */
+    void reload();
+}
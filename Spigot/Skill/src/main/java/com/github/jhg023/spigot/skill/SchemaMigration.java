@@ -0,0 +1,232 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the table that stores every player's skill data, and migrates it from the legacy schema if necessary.
+ * <br><br>
+ * The compact schema keys each row by the 16-byte binary form of the player's {@link UUID} and stores the tracked
+ * {@link Skill skill} as its ordinal:
+ * <pre>
+ * CREATE TABLE `survival_player_skill_data` (
+ *     `uuid` BINARY(16) NOT NULL,
+ *     `attack_skill_exp` INT NOT NULL DEFAULT 0,
+ *     ... (one column per skill)
+ *     `tracked_skill` TINYINT UNSIGNED NOT NULL DEFAULT 6,
+ *     PRIMARY KEY (`uuid`)
+ * ) ENGINE = InnoDB;
+ * </pre>
+ * The legacy schema keyed each row by the 36-character string form of the {@link UUID} and stored the tracked skill by
+ * name. A legacy table is migrated by streaming its rows, in primary key order and a page at a time, into a new table,
+ * which then atomically replaces it. The legacy table is kept, renamed, as a backup.
+ * <br><br>
+ * The experience that players gain in each bucket of each
+ * {@link com.github.jhg023.spigot.skill.leaderboard.ExperiencePeriod period} is stored in a table of its own, which is
+ * created alongside it:
+ * <pre>
+ * CREATE TABLE `survival_player_skill_period` (
+ *     `period` TINYINT UNSIGNED NOT NULL,
+ *     `period_start` INT NOT NULL,
+ *     `uuid` BINARY(16) NOT NULL,
+ *     `attack_skill_exp` INT NOT NULL DEFAULT 0,
+ *     ... (one column per skill)
+ *     PRIMARY KEY (`period`, `period_start`, `uuid`)
+ * ) ENGINE = InnoDB;
+ * </pre>
+ *
+ * @author Jacob Glickman
+ * @version January 27, 2020
+ */
+public final class SchemaMigration {
+
+    /**
+     * The name of the table that stores every player's experience.
+     */
+    private static final String TABLE = "survival_player_skill_data";
+
+    /**
+     * The name of the table that rows are migrated into before it replaces {@link #TABLE}.
+     */
+    private static final String MIGRATING_TABLE = TABLE + "_migrating";
+
+    /**
+     * The name that the legacy table is kept under once it has been replaced.
+     */
+    private static final String LEGACY_TABLE = TABLE + "_legacy";
+
+    /**
+     * The name of the table that stores the experience that every player gains in each bucket of each period.
+     */
+    private static final String PERIOD_TABLE = "survival_player_skill_period";
+
+    /**
+     * The number of rows copied by each page of the migration.
+     */
+    private static final int PAGE_SIZE = 1_000;
+
+    /**
+     * The experience columns, quoted and separated by commas.
+     */
+    private static final String EXPERIENCE_COLUMNS = Arrays.stream(Skill.values())
+        .map(skill -> '`' + skill.getDatabaseColumnName() + '`')
+        .collect(Collectors.joining(", "));
+
+    /**
+     * A {@code private} constructor to prevent instantiation.
+     *
+     * @throws UnsupportedOperationException if invoked.
+     */
+    private SchemaMigration() {
+        throw new UnsupportedOperationException("This class cannot be instantiated!");
+    }
+
+    /**
+     * Creates the table if it does not exist, or migrates it if it uses the legacy schema, and creates the period table
+     * if it does not exist.
+     *
+     * @param connection a connection to the database.
+     * @param logger     the logger that the migration's progress is reported to.
+     * @throws SQLException if a database error occurs.
+     */
+    public static void migrate(Connection connection, Logger logger) throws SQLException {
+        createPeriodTable(connection);
+
+        String uuidType;
+
+        try (var columns = connection.getMetaData().getColumns(connection.getCatalog(), null, TABLE, "uuid")) {
+            uuidType = columns.next() ? columns.getString("TYPE_NAME").toUpperCase(Locale.US) : null;
+        }
+
+        if (uuidType == null) {
+            createTable(connection, TABLE);
+            connection.commit();
+            logger.info("Created the `" + TABLE + "` table.");
+            return;
+        }
+
+        if (!uuidType.contains("CHAR")) {
+            return;
+        }
+
+        logger.info("Migrating the `" + TABLE + "` table to the compact schema...");
+
+        try (var statement = connection.createStatement()) {
+            // A previous migration may have been interrupted before it could replace the legacy table.
+            statement.executeUpdate("DROP TABLE IF EXISTS `" + MIGRATING_TABLE + "`;");
+        }
+
+        createTable(connection, MIGRATING_TABLE);
+
+        long rows = copyRows(connection, logger);
+
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("RENAME TABLE `" + TABLE + "` TO `" + LEGACY_TABLE + "`, `" + MIGRATING_TABLE +
+                "` TO `" + TABLE + "`;");
+        }
+
+        connection.commit();
+        logger.info("Migrated " + rows + " rows; the legacy table has been kept as `" + LEGACY_TABLE + "`.");
+    }
+
+    /**
+     * Copies every row of the legacy table into the migrating table, a page at a time, converting each
+     * {@link UUID} and tracked skill to its compact form.
+     *
+     * @param connection a connection to the database.
+     * @param logger     the logger that the migration's progress is reported to.
+     * @return the number of rows that were copied.
+     * @throws SQLException if a database error occurs.
+     */
+    private static long copyRows(Connection connection, Logger logger) throws SQLException {
+        int skillCount = Skill.values().length;
+        long rows = 0L;
+        var lastUuid = "";
+
+        try (var select = connection.prepareStatement("SELECT `uuid`, " + EXPERIENCE_COLUMNS + ", `tracked_skill` " +
+                "FROM `" + TABLE + "` WHERE `uuid` > ? ORDER BY `uuid` LIMIT " + PAGE_SIZE + ';');
+             var insert = connection.prepareStatement("INSERT INTO `" + MIGRATING_TABLE + "` (`uuid`, " +
+                 EXPERIENCE_COLUMNS + ", `tracked_skill`) VALUES (?" + ", ?".repeat(skillCount + 1) + ");")) {
+            int page;
+
+            do {
+                page = 0;
+                select.setString(1, lastUuid);
+
+                try (var resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastUuid = resultSet.getString("uuid");
+                        insert.setBytes(1, UuidUtility.toBytes(UUID.fromString(lastUuid)));
+
+                        for (var skill : Skill.values()) {
+                            insert.setInt(skill.ordinal() + 2, resultSet.getInt(skill.getDatabaseColumnName()));
+                        }
+
+                        var trackedSkill = resultSet.getString("tracked_skill");
+
+                        insert.setInt(skillCount + 2, (trackedSkill == null ? Skill.MINING :
+                            Skill.valueOf(trackedSkill)).ordinal());
+                        insert.addBatch();
+                        page++;
+                    }
+                }
+
+                insert.executeBatch();
+                connection.commit();
+                rows += page;
+
+                if (page > 0 && rows % (PAGE_SIZE * 100L) == 0L) {
+                    logger.info("Migrated " + rows + " rows so far...");
+                }
+            } while (page == PAGE_SIZE);
+        }
+
+        return rows;
+    }
+
+    /**
+     * Creates a table with the compact schema.
+     *
+     * @param connection a connection to the database.
+     * @param table      the name of the table.
+     * @throws SQLException if a database error occurs.
+     */
+    private static void createTable(Connection connection, String table) throws SQLException {
+        var columns = Arrays.stream(Skill.values())
+            .map(skill -> '`' + skill.getDatabaseColumnName() + "` INT NOT NULL DEFAULT 0, ")
+            .collect(Collectors.joining());
+
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `" + table + "` (`uuid` BINARY(" + UuidUtility.BYTES +
+                ") NOT NULL, " + columns + "`tracked_skill` TINYINT UNSIGNED NOT NULL DEFAULT " +
+                Skill.MINING.ordinal() + ", PRIMARY KEY (`uuid`)) ENGINE = InnoDB;");
+        }
+    }
+
+    /**
+     * Creates the period table, if it does not exist.
+     *
+     * @param connection a connection to the database.
+     * @throws SQLException if a database error occurs.
+     */
+    private static void createPeriodTable(Connection connection) throws SQLException {
+        var columns = Arrays.stream(Skill.values())
+            .map(skill -> '`' + skill.getDatabaseColumnName() + "` INT NOT NULL DEFAULT 0, ")
+            .collect(Collectors.joining());
+
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS `" + PERIOD_TABLE + "` (`period` TINYINT UNSIGNED " +
+                "NOT NULL, `period_start` INT NOT NULL, `uuid` BINARY(" + UuidUtility.BYTES + ") NOT NULL, " +
+                columns + "PRIMARY KEY (`period`, `period_start`, `uuid`)) ENGINE = InnoDB;");
+        }
+
+        connection.commit();
+    }
+}
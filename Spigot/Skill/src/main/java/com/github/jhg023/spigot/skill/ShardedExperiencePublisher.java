@@ -0,0 +1,370 @@
+package com.github.jhg023.spigot.skill;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Publishes an {@link ExperienceSnapshot} concurrently over several pooled connections.
+ * <br><br>
+ * The snapshot's players are partitioned by the hash of their unique identifiers into a fixed number of shards, and
+ * each shard is published by an {@link ExperiencePublisher} over its own connection, in its own transaction. As the
+ * shards never share a player, they never contend on the same rows, and a shard that fails is rolled back without
+ * affecting the others; only its players' deltas have to be retried.
+ *
+ * @author Jacob Glickman
+ * @version February 1, 2020
+ */
+public final class ShardedExperiencePublisher {
+
+    /**
+     * The state of a shard that has not yet begun to commit.
+     */
+    private static final int PUBLISHING = 0;
+
+    /**
+     * The state of a shard whose commit has begun.
+     */
+    private static final int COMMITTING = 1;
+
+    /**
+     * The state of a shard that was given up on before it began to commit, which therefore never commits.
+     */
+    private static final int ABANDONED = 2;
+
+    /**
+     * The state of a shard whose commit succeeded, which must never be reported as unpublished, even if releasing its
+     * connection fails afterwards.
+     */
+    private static final int COMMITTED = 3;
+
+    /**
+     * The publisher that writes each shard.
+     */
+    private final ExperiencePublisher publisher;
+
+    /**
+     * The number of shards that each snapshot is partitioned into.
+     */
+    private final int shards;
+
+    /**
+     * Creates a new {@link ShardedExperiencePublisher}.
+     *
+     * @param publisher the publisher that writes each shard.
+     * @param shards    the number of shards that each snapshot is partitioned into, which should not exceed the size
+     *                  of the connection pool.
+     * @throws IllegalArgumentException if {@code shards} is not positive.
+     */
+    public ShardedExperiencePublisher(ExperiencePublisher publisher, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("There must be at least one shard!");
+        }
+
+        this.publisher = publisher;
+        this.shards = shards;
+    }
+
+    /**
+     * Publishes and commits every shard of the specified snapshot concurrently, and waits for all of them to finish.
+     * <br><br>
+     * The snapshot itself is neither acknowledged nor retained by this method.
+     *
+     * @param snapshot  the snapshot to publish.
+     * @param connector acquires a connection for each shard, such as {@code Database.getMySQL()::connectAsync}.
+     * @return the outcome of the shards.
+     */
+    public Outcome publish(ExperienceSnapshot snapshot, Connector connector) {
+        return publish(snapshot, connector, false, 0L, 0L);
+    }
+
+    /**
+     * Publishes and commits every shard of the specified snapshot concurrently, but only commits the shards that are
+     * ready to commit before the specified deadline, and waits for them no longer than the deadline plus the specified
+     * grace period.
+     * <br><br>
+     * A shard that misses the deadline is rolled back, and a shard that is still running when the grace period ends is
+     * abandoned, so that it rolls back rather than commits. Only a shard that began to commit before the deadline is
+     * waited for beyond the grace period, as whether or not it was committed is only known once its commit finishes.
+     * A shard is therefore only reported as unpublished if it can no longer be committed.
+     *
+     * @param snapshot      the snapshot to publish.
+     * @param connector     acquires a connection for each shard, such as {@code Database.getMySQL()::connectAsync}.
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which no shard is committed.
+     * @param graceNanos    how long, in nanoseconds, to wait for commits that began before the deadline.
+     * @return the outcome of the shards.
+     */
+    public Outcome publish(ExperienceSnapshot snapshot, Connector connector, long deadlineNanos, long graceNanos) {
+        return publish(snapshot, connector, true, deadlineNanos, graceNanos);
+    }
+
+    /**
+     * Publishes and commits every shard of the specified snapshot concurrently.
+     *
+     * @param snapshot      the snapshot to publish.
+     * @param connector     acquires a connection for each shard.
+     * @param timed         whether or not the deadline applies.
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which no shard is committed.
+     * @param graceNanos    how long, in nanoseconds, to wait for commits that began before the deadline.
+     * @return the outcome of the shards.
+     */
+    private Outcome publish(ExperienceSnapshot snapshot, Connector connector, boolean timed, long deadlineNanos,
+                            long graceNanos) {
+        var partitions = snapshot.partition(shards);
+        var failures = new SQLException[shards];
+        var states = new AtomicIntegerArray(shards);
+        var committedRows = new int[shards];
+        var futures = new ArrayList<CompletableFuture<Integer>>(shards);
+
+        for (int shard = 0; shard < shards; shard++) {
+            var partition = partitions.get(shard);
+            int index = shard;
+
+            if (partition.isEmpty()) {
+                futures.add(CompletableFuture.completedFuture(0));
+                continue;
+            }
+
+            // If the shard cannot be submitted, it fails on its own, and the shards that were submitted still finish.
+            try {
+                futures.add(connector.connectAsync(
+                    connection -> publishShard(connection, partition, failures, states, committedRows, index, timed,
+                        deadlineNanos),
+                    e -> {
+                        // The connection can fail after the shard committed, which must not cause it to be published
+                        // a second time.
+                        if (states.get(index) != COMMITTED) {
+                            failures[index] = e;
+                        }
+                    }));
+            } catch (RejectedExecutionException e) {
+                failures[index] = new SQLException("Shard " + shard + " could not be submitted!", e);
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        int rows = 0;
+        var unpublished = new ExperienceBuffer();
+        var cause = (SQLException) null;
+
+        for (int shard = 0; shard < shards; shard++) {
+            Integer shardRows;
+
+            try {
+                shardRows = timed ? awaitShard(futures.get(shard), failures, states, shard,
+                    deadlineNanos + graceNanos) : futures.get(shard).join();
+            } catch (RuntimeException e) {
+                shardRows = null;
+
+                if (failures[shard] == null) {
+                    failures[shard] = new SQLException("Shard " + shard + " could not be published!", e);
+                }
+            }
+
+            // Whatever happened to the shard's connection afterwards, a shard that committed has been published.
+            if (states.get(shard) == COMMITTED) {
+                rows += committedRows[shard];
+                continue;
+            }
+
+            if (shardRows != null && failures[shard] == null) {
+                rows += shardRows;
+                continue;
+            }
+
+            if (cause == null) {
+                cause = failures[shard] != null ? failures[shard] :
+                    new SQLException("Shard " + shard + " could not acquire a connection!");
+            }
+
+            var partition = partitions.get(shard);
+
+            for (int index = 0; index < partition.size(); index++) {
+                var uuid = partition.getUniqueId(index);
+
+                for (var skill : Skill.values()) {
+                    unpublished.add(uuid, skill, partition.getDelta(index, skill));
+                }
+            }
+        }
+
+        return new Outcome(rows, unpublished.swap(), cause);
+    }
+
+    /**
+     * Waits for a shard of a timed publication until the specified time, then abandons it if it has not begun to
+     * commit, or waits for its commit to finish if it has.
+     *
+     * @param future     the shard's future.
+     * @param failures   the exception that caused each shard to fail, which this shard's failure is stored in.
+     * @param states     the state of each shard.
+     * @param shard      the index of the shard.
+     * @param untilNanos the time, as returned by {@link System#nanoTime()}, after which the shard is abandoned.
+     * @return the number of rows written, or {@code null} if the shard failed or was abandoned.
+     * @throws java.util.concurrent.CompletionException if the shard completed exceptionally.
+     */
+    private static Integer awaitShard(CompletableFuture<Integer> future, SQLException[] failures,
+                                      AtomicIntegerArray states, int shard, long untilNanos) {
+        try {
+            return future.get(Math.max(0L, untilNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            if (states.compareAndSet(shard, PUBLISHING, ABANDONED)) {
+                failures[shard] = new SQLTimeoutException("Shard " + shard + " did not finish before the deadline!");
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            if (states.compareAndSet(shard, PUBLISHING, ABANDONED)) {
+                failures[shard] = new SQLException("Interrupted while waiting for shard " + shard + "!", e);
+                return null;
+            }
+        }
+
+        // The shard's commit is already in flight, and its deltas must not be retried if it succeeds.
+        return future.join();
+    }
+
+    /**
+     * Publishes and commits a single shard, rolling it back if it fails.
+     *
+     * @param connection    the shard's connection.
+     * @param partition     the shard.
+     * @param failures      the exception that caused each shard to fail, which this shard's failure is stored in.
+     * @param states        the state of each shard.
+     * @param committedRows the number of rows written by each shard, which this shard's count is stored in once it
+     *                      has committed.
+     * @param shard         the index of the shard.
+     * @param timed         whether or not the deadline applies.
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which the shard is rolled back
+     *                      rather than committed.
+     * @return the number of rows written, or {@code null} if the shard failed or was abandoned.
+     */
+    private Integer publishShard(Connection connection, ExperienceSnapshot partition, SQLException[] failures,
+                                 AtomicIntegerArray states, int[] committedRows, int shard, boolean timed,
+                                 long deadlineNanos) {
+        // A shard that was abandoned while it waited for a connection has already been reported as unpublished.
+        if (timed && states.get(shard) == ABANDONED) {
+            return null;
+        }
+
+        try {
+            int rows = publisher.publish(connection, partition);
+
+            // Once the shard has begun to commit, it can no longer be abandoned, so it is waited for instead.
+            if (timed && (System.nanoTime() - deadlineNanos >= 0L ||
+                    !states.compareAndSet(shard, PUBLISHING, COMMITTING))) {
+                throw new SQLTimeoutException("Shard " + shard + " was not ready to commit before the deadline!");
+            }
+
+            connection.commit();
+            committedRows[shard] = rows;
+            states.set(shard, COMMITTED);
+            return rows;
+        } catch (SQLException e) {
+            failures[shard] = e;
+
+            try {
+                connection.rollback();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of shards that each snapshot is partitioned into.
+     *
+     * @return the number of shards.
+     */
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Acquires a pooled connection and applies a function to it asynchronously, in the manner of
+     * {@link com.github.jhg023.common.database.MySQL#connectAsync(Function, Consumer)}.
+     */
+    @FunctionalInterface
+    public interface Connector {
+
+        /**
+         * Applies the specified function to a pooled connection asynchronously.
+         *
+         * @param onConnect the function to apply to the connection.
+         * @param onFailure accepts the exception if a connection cannot be acquired.
+         * @return a future that completes with the result of {@code onConnect}, or {@code null} if a connection could
+         *         not be acquired.
+         */
+        CompletableFuture<Integer> connectAsync(Function<Connection, Integer> onConnect,
+                                                Consumer<SQLException> onFailure);
+    }
+
+    /**
+     * The outcome of publishing every shard of a snapshot.
+     */
+    public static final class Outcome {
+
+        /**
+         * The number of rows written by the shards that were committed.
+         */
+        private final int rows;
+
+        /**
+         * The deltas of the shards that were not committed.
+         */
+        private final ExperienceSnapshot unpublished;
+
+        /**
+         * The exception that caused the first shard to fail, or {@code null} if every shard was committed.
+         */
+        private final SQLException cause;
+
+        private Outcome(int rows, ExperienceSnapshot unpublished, SQLException cause) {
+            this.rows = rows;
+            this.unpublished = unpublished;
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the number of rows written by the shards that were committed.
+         *
+         * @return the number of rows.
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        /**
+         * Gets the deltas of the shards that were not committed, which hold no journal segments.
+         *
+         * @return the unpublished deltas.
+         */
+        public ExperienceSnapshot getUnpublished() {
+            return unpublished;
+        }
+
+        /**
+         * Gets the exception that caused the first shard to fail.
+         *
+         * @return the exception, or {@code null} if every shard was committed.
+         */
+        public SQLException getCause() {
+            return cause;
+        }
+    }
+}
@@ -7,7 +7,8 @@ import java.util.Locale;
 /**
  * An enumeration of skills belonging to McExperience.
  * <br><br>
- * If any values are added to this enumeration, they <strong>must first be added to phpMyAdmin</strong>!
+ * If any values are added to this enumeration, they <strong>must first be added to phpMyAdmin</strong>! As a
+ * player's tracked skill is stored by its ordinal, values must only ever be appended, never reordered or removed.
  *
  * @author Jacob Glickman
  * @version January 5, 2020
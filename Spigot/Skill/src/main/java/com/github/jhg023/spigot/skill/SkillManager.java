@@ -1,35 +1,70 @@
 package com.github.jhg023.spigot.skill;
 
+import com.github.jhg023.common.database.LatencyHistogram;
 import com.github.jhg023.spigot.database.Database;
+import com.github.jhg023.spigot.skill.event.BlockInteractionDispatcher;
 import com.github.jhg023.spigot.skill.event.PlayerSkillLevelUpEvent;
 import com.github.jhg023.spigot.skill.event.SkillEventHandler;
+import com.github.jhg023.spigot.skill.leaderboard.Leaderboards;
+import com.github.jhg023.spigot.skill.leaderboard.PeriodClock;
+import com.github.jhg023.spigot.skill.leaderboard.PeriodLeaderboards;
+import com.github.jhg023.spigot.skill.material.GatheringSkill;
+import com.github.jhg023.spigot.skill.metrics.Meter;
+import com.github.jhg023.spigot.skill.metrics.MetricRegistry;
+import com.github.jhg023.spigot.skill.metrics.TimedEventExecutor;
+import com.github.jhg023.spigot.skill.multiplier.ExperienceMultipliers;
+import com.github.jhg023.spigot.skill.multiplier.MultiplierWindow;
 import com.github.jhg023.spigot.skill.utility.SkillUtility;
 import com.github.jhg023.spigot.skill.command.SkillCommandHandler;
-import com.github.jhg023.spigot.skill.utility.MutableInt;
-import com.github.jhg023.spigot.skill.utility.SkillExperience;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.ExperienceOrb;
 import org.bukkit.entity.Player;
-import org.bukkit.metadata.FixedMetadataValue;
+import org.bukkit.event.Listener;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import javax.management.JMException;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.EnumMap;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 /**
  * The plugin that manages a {@link Player player}'s per-skill experience and periodically publishes it to the database.
@@ -39,6 +74,27 @@ import java.util.logging.Level;
  */
 public final class SkillManager extends JavaPlugin {
 
+    /**
+     * The value returned by {@link #getOrbPayload(ExperienceOrb)} for an orb that does not carry skill experience.
+     */
+    public static final long NO_PAYLOAD = -1L;
+
+    /**
+     * How long, in nanoseconds, to wait past the shutdown deadline for commits that began before it.
+     */
+    private static final long DRAIN_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(500L);
+
+    /**
+     * The file, in this plugin's data folder, that tracked skill changes which could not be written when the plugin was
+     * disabled are spilled to.
+     */
+    private static final String TRACKED_SKILLS_SPILL_FILE = "tracked-skills.spill";
+
+    /**
+     * The file, in this plugin's data folder, that players' boosters are saved to, so that they outlive restarts.
+     */
+    private static final String BOOSTERS_FILE = "boosters.txt";
+
     private static final String SQL_EXCEPTION_MESSAGE = "A SQLException occurred when updating a player's tracked " +
         "skill!";
 
@@ -47,6 +103,56 @@ public final class SkillManager extends JavaPlugin {
      */
     private static SkillManager skillManager;
 
+    /**
+     * The name under which {@link #metrics} is registered with the platform MBean server.
+     */
+    private static final String METRICS_MBEAN_NAME = "com.github.jhg023.spigot.skill:type=Metrics";
+
+    /**
+     * The counters, gauges, and latency histograms of this plugin and every skill plugin.
+     */
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    /**
+     * The experience grants in each {@link Skill skill}, indexed by {@link Skill#ordinal()}.
+     */
+    private final Meter[] grants = new Meter[Skill.values().length];
+
+    /**
+     * The amount of experience granted in each {@link Skill skill}, indexed by {@link Skill#ordinal()}.
+     */
+    private final Meter[] grantedExperience = new Meter[Skill.values().length];
+
+    /**
+     * The number of level-ups in every skill.
+     */
+    private final LongAdder levelUps = metrics.counter("experience.level-ups");
+
+    /**
+     * The tracker updates requested by {@link #updateTracker(Player, Skill)}.
+     */
+    private final Meter trackerUpdates = metrics.meter("tracker.updates");
+
+    /**
+     * The number of times a player has switched to tracking a different skill.
+     */
+    private final LongAdder trackerSwitches = metrics.counter("tracker.switches");
+
+    /**
+     * The time taken by each flush of pending experience, including flushes that had nothing to publish.
+     */
+    private final LatencyHistogram flushLatency = metrics.histogram("flush.duration");
+
+    /**
+     * The rows written by flushes.
+     */
+    private final Meter flushedRows = metrics.meter("flush.rows");
+
+    /**
+     * The number of flushes that failed with a {@link SQLException}.
+     */
+    private final LongAdder flushFailures = metrics.counter("flush.failures");
+
     /**
      * The data structure that stores players that are currently tracking a skill on their screen.
      */
@@ -56,37 +162,663 @@ public final class SkillManager extends JavaPlugin {
      * The in-memory data structure that stores every {@link Player player}'s current experience values for every
      * {@link Skill skill}.
      */
-    private final ConcurrentMap<UUID, Map<Skill, MutableInt>> experienceMap = new ConcurrentHashMap<>();
+    private final PlayerSkillStore store = new PlayerSkillStore();
 
     /**
      * The in-memory data structure that stores pending experience that has not yet been published to the database.
      */
-    private final ConcurrentMap<UUID, Map<Skill, MutableInt>> pendingExperience = new ConcurrentHashMap<>();
+    private ExperienceBuffer pendingExperience;
+
+    /**
+     * The journal that pending experience is written to before it is added to {@link #pendingExperience} (if
+     * journaling is enabled), and that experience which could not be flushed when the plugin was disabled is spilled
+     * to; or {@code null} if it could not be opened.
+     */
+    private ExperienceJournal journal;
+
+    /**
+     * Ranks every player in every skill by their experience.
+     */
+    private final Leaderboards leaderboards = new Leaderboards();
+
+    /**
+     * Ranks every player in every skill by the experience they have gained during the current day and week, or
+     * {@code null} if period leaderboards are disabled.
+     */
+    private PeriodLeaderboards periodLeaderboards;
+
+    /**
+     * The number of days for which the rows of past periods are kept in the database.
+     */
+    private int periodRetentionDays;
+
+    /**
+     * Multiplies the experience that players gain, according to the configured bonuses and windows, and to each
+     * player's boosters.
+     */
+    private ExperienceMultipliers multipliers;
+
+    /**
+     * The skill plugins whose configuration is reloaded by {@code /skillreload}, keyed and ordered by plugin name.
+     */
+    private final ConcurrentMap<String, Reloadable> reloadables = new ConcurrentSkipListMap<>();
+
+    /**
+     * Handles every block that is damaged or broken on behalf of the registered gathering skills.
+     */
+    private final BlockInteractionDispatcher blockInteractions = new BlockInteractionDispatcher(this);
+
+    /**
+     * Collects changes to players' tracked skills, which are written along with pending experience.
+     */
+    private final TrackedSkillWriter trackedSkills = new TrackedSkillWriter();
+
+    /**
+     * Whether or not experience is being accepted, which is {@code false} once the plugin has begun to be disabled.
+     */
+    private volatile boolean accepting;
+
+    /**
+     * Publishes pending experience when the plugin is disabled.
+     */
+    private ShardedExperiencePublisher drainPublisher;
+
+    /**
+     * How long, in nanoseconds, the plugin may take to flush pending experience when it is disabled.
+     */
+    private long drainDeadlineNanos;
+
+    /**
+     * Redraws the trackers of players whose experience has changed.
+     */
+    private final TrackerRenderer trackerRenderer = new TrackerRenderer(trackerMap, store);
+
+    /**
+     * Publishes pending experience to the database.
+     */
+    private ExperiencePublisher publisher;
+
+    /**
+     * Publishes pending experience concurrently over several connections, or {@code null} if it is published over a
+     * single connection.
+     */
+    private ShardedExperiencePublisher shardedPublisher;
+
+    /**
+     * Held while pending experience is being published, so that two flushes never write the same rows at once.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    /**
+     * Whether or not a flush has been scheduled by {@link #flushSoon()} and has not started yet.
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * The delay, in ticks, between a player quitting and their pending experience being flushed.
+     */
+    private long quitFlushDelay;
+
+    /**
+     * Decides when pending experience is flushed periodically.
+     */
+    private FlushScheduler flushScheduler;
+
+    /**
+     * Delays flushes after failures, and stops them altogether while the database appears to be down.
+     */
+    private CircuitBreaker flushBreaker;
+
+    /**
+     * Whether or not a retry of a failed flush has been scheduled and has not started yet.
+     */
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+
+    /**
+     * Pending experience whose flush failed, which is merged into, and retried along with, the next flush; or
+     * {@code null} if the last flush succeeded.
+     */
+    private volatile ExperienceSnapshot retained;
+
+    /**
+     * The way in which skill experience is handed to players by {@link #createExperienceOrb}.
+     */
+    private OrbMode orbMode;
+
+    /**
+     * The radius, in blocks, within which an existing orb is reused in {@link OrbMode#AGGREGATED}.
+     */
+    private double orbMergeRadius;
+
+    /**
+     * The key under which an orb's packed skill experience is stored in its persistent data container.
+     */
+    private NamespacedKey orbPayloadKey;
 
     @Override
     public void onEnable() {
         skillManager = this;
 
-        Objects.requireNonNull(getCommand("track")).setExecutor(new SkillCommandHandler(this));
+        for (var skill : Skill.values()) {
+            var name = "experience." + skill.name().toLowerCase(Locale.US);
+
+            grants[skill.ordinal()] = metrics.meter(name + ".grants");
+            grantedExperience[skill.ordinal()] = metrics.meter(name + ".amount");
+        }
+
+        saveDefaultConfig();
+
+        var config = getConfig();
+
+        if (config.getBoolean("periods.enabled", true)) {
+            var zone = config.getString("periods.zone", "");
+
+            periodLeaderboards = new PeriodLeaderboards(new PeriodClock(
+                zone.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(zone),
+                LocalTime.parse(config.getString("periods.rollover-time", "00:00")),
+                DayOfWeek.valueOf(config.getString("periods.week-start", "MONDAY").toUpperCase(Locale.US))),
+                Instant.now());
+            periodRetentionDays = config.getInt("periods.retention-days", 35);
+        }
+
+        publisher = new ExperiencePublisher(
+            ExperiencePublisher.Mode.valueOf(config.getString("flush.mode", "MULTI_ROW_UPSERT").toUpperCase(Locale.US)),
+            config.getInt("flush.rows-per-statement", 500),
+            periodLeaderboards == null ? null : periodLeaderboards::getStart);
+        int shards = config.getInt("flush.shards", 1);
+
+        if (shards > 1) {
+            shardedPublisher = new ShardedExperiencePublisher(publisher, shards);
+        }
 
-        getServer().getPluginManager().registerEvents(new SkillEventHandler(this, trackerMap, experienceMap), this);
-        getServer().getScheduler().runTaskTimerAsynchronously(this,
-            () -> Database.getMySQL().connect((Consumer<Connection>) this::addExperienceHelper), 0L, 20L * 30L);
+        quitFlushDelay = config.getLong("flush.quit-delay-ticks", 20L);
+        flushBreaker = new CircuitBreaker(
+            ticksToNanos(config.getLong("flush.retry.initial-delay-ticks", 20L)),
+            ticksToNanos(config.getLong("flush.retry.maximum-delay-ticks", 20L * 60L)),
+            config.getInt("flush.circuit-breaker.failure-threshold", 5),
+            ticksToNanos(config.getLong("flush.circuit-breaker.open-ticks", 20L * 60L * 2L)));
+        orbMode = OrbMode.valueOf(config.getString("orbs.mode", "AGGREGATED").toUpperCase(Locale.US));
+        orbMergeRadius = config.getDouble("orbs.merge-radius", 3D);
+        orbPayloadKey = new NamespacedKey(this, SkillUtility.ORB_PAYLOAD_KEY);
+        multipliers = createMultipliers(config.getConfigurationSection("multipliers"));
+        loadBoosters();
+
+        Boolean migrated = Database.getMySQL().connect((Connection connection) -> {
+            try {
+                SchemaMigration.migrate(connection, getLogger());
+                return true;
+            } catch (SQLException e) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when migrating the skill table!", e);
+                return false;
+            }
+        }, e -> Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when connecting to migrate the " +
+            "skill table!", e));
+
+        // Loading or publishing experience against a table that has not been migrated would match no rows, or write
+        // rows in the wrong format, so the plugin is disabled before anything touches the table.
+        if (!Boolean.TRUE.equals(migrated)) {
+            getLogger().severe("The skill table could not be migrated; disabling the plugin!");
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+
+        // The journal is opened even when journaling is disabled, as experience is spilled to it when the plugin is
+        // disabled before it could be flushed.
+        var journaling = config.getBoolean("journal.enabled", true);
+
+        openJournal(config.getInt("journal.segment-size-kb", 4_096) * 1_024);
+        recoverTrackedSkills();
+
+        if (periodLeaderboards != null) {
+            loadPeriodLeaderboards();
+        }
+
+        pendingExperience = new ExperienceBuffer(journaling ? journal : null);
+        drainPublisher = new ShardedExperiencePublisher(publisher, Math.max(1, config.getInt("shutdown.shards", 4)));
+        drainDeadlineNanos = TimeUnit.MILLISECONDS.toNanos(config.getLong("shutdown.deadline-millis", 3_000L));
+        accepting = true;
+        flushScheduler = new FlushScheduler(this::flush, pendingExperience, metrics,
+            ticksToNanos(config.getLong("flush.schedule.minimum-interval-ticks", 20L * 5L)),
+            ticksToNanos(config.getLong("flush.schedule.maximum-interval-ticks", 20L * 30L)),
+            config.getInt("flush.schedule.pending-players-threshold", 250),
+            config.getLong("flush.schedule.pending-experience-threshold", 50_000L),
+            TimeUnit.MILLISECONDS.toNanos(config.getLong("flush.schedule.slow-flush-millis", 500L)));
+
+        long flushCheckPeriod = Math.max(1L, config.getLong("flush.schedule.check-period-ticks", 20L));
+
+        var commandHandler = new SkillCommandHandler(this);
+
+        Objects.requireNonNull(getCommand("track")).setExecutor(commandHandler);
+        Objects.requireNonNull(getCommand("skillstats")).setExecutor(commandHandler);
+        Objects.requireNonNull(getCommand("top")).setExecutor(commandHandler);
+        Objects.requireNonNull(getCommand("rank")).setExecutor(commandHandler);
+        Objects.requireNonNull(getCommand("booster")).setExecutor(commandHandler);
+        Objects.requireNonNull(getCommand("skillreload")).setExecutor(commandHandler);
+
+        long renderPeriod = Math.max(1L, config.getLong("tracker.render-period", 1L));
+        var joinLoader = new JoinLoader(this, store, metrics, config.getLong("join.prefetch-timeout-millis", 3_000L),
+            config.getLong("join.warm-cache.ttl-seconds", 300L) * 1_000L,
+            config.getInt("join.warm-cache.maximum-size", 1_000));
+
+        registerMetrics();
+        registerEvents(new SkillEventHandler(this, trackerMap, store, joinLoader), this);
+        registerEvents(blockInteractions, this);
+        getServer().getScheduler().runTaskAsynchronously(this, this::loadLeaderboards);
+        getServer().getScheduler().runTaskTimer(this, joinLoader, 1L, 1L);
+        getServer().getScheduler().runTaskTimer(this, trackerRenderer, renderPeriod, renderPeriod);
+        getServer().getScheduler().runTaskTimerAsynchronously(this, flushScheduler, flushCheckPeriod,
+            flushCheckPeriod);
+        getServer().getScheduler().runTaskTimerAsynchronously(this, metrics::tick, MetricRegistry.TICK_PERIOD,
+            MetricRegistry.TICK_PERIOD);
+
+        getServer().getScheduler().runTaskTimerAsynchronously(this, this::refreshMultipliers, 20L, 20L);
+
+        if (periodLeaderboards != null) {
+            getServer().getScheduler().runTaskTimerAsynchronously(this, this::rollOverPeriods, 20L, 20L);
+        }
+
+        long journalSyncPeriod = config.getLong("journal.sync-period-ticks", 20L);
+
+        if (journaling && journal != null && journalSyncPeriod > 0L) {
+            getServer().getScheduler().runTaskTimerAsynchronously(this, journal::force, journalSyncPeriod,
+                journalSyncPeriod);
+        }
+    }
+
+    /**
+     * Opens the experience journal in this plugin's data folder, then replays any experience that was journaled, but
+     * never published, before the plugin last stopped.
+     * <br><br>
+     * If the journal cannot be opened, experience is neither journaled nor spilled.
+     *
+     * @param segmentLength the length, in bytes, of each journal segment.
+     */
+    private void openJournal(int segmentLength) {
+        ExperienceSnapshot recovered;
+
+        try {
+            journal = new ExperienceJournal(getDataFolder().toPath().resolve("journal"), segmentLength);
+            recovered = journal.recover();
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "The experience journal could not be opened; experience will not be " +
+                "journaled!", e);
+            journal = null;
+            return;
+        }
+
+        metrics.gauge("journal.segments", journal::getOpenSegmentCount);
+        metrics.gauge("journal.spare-segments", journal::getSpareSegmentCount);
+
+        if (recovered.isEmpty()) {
+            recovered.acknowledge();
+            return;
+        }
+
+        // If the database cannot be reached, the segments are kept and replayed when the plugin next starts.
+        Database.getMySQL().connect((Connection connection) -> {
+            try {
+                int rows = publisher.publish(connection, recovered);
+
+                connection.commit();
+                recovered.acknowledge();
+                getLogger().info("Replayed the journaled experience of " + rows + " players that was never flushed.");
+            } catch (SQLException e) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when replaying journaled experience!",
+                    e);
+            }
+        });
+    }
+
+    /**
+     * Builds the leaderboards of every skill by streaming the skill table.
+     */
+    private void loadLeaderboards() {
+        long start = System.nanoTime();
+
+        Database.getMySQL().connect((Connection connection) -> {
+            try {
+                int rows = leaderboards.load(connection);
+
+                getLogger().info("Built the leaderboards of " + rows + " players in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+            } catch (SQLException e) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when building the leaderboards!", e);
+            }
+        });
+    }
+
+    /**
+     * Creates the experience multipliers described by the specified section of this plugin's configuration.
+     * <br><br>
+     * Each entry of its {@code windows} section is either a weekly window, which has {@code days} and optionally a
+     * {@code start-time} and an {@code end-time}, or a one-off window, which has a {@code start} and an {@code end}.
+     * Windows that are disabled or malformed are skipped.
+     *
+     * @param section the section, or {@code null} if it is missing.
+     * @return the multipliers.
+     */
+    private ExperienceMultipliers createMultipliers(ConfigurationSection section) {
+        var skillBonuses = new double[Skill.values().length];
+        var windows = new ArrayList<MultiplierWindow>();
+
+        Arrays.fill(skillBonuses, 1D);
+
+        if (section == null) {
+            return new ExperienceMultipliers(ZoneId.systemDefault(), skillBonuses, windows, System.currentTimeMillis());
+        }
+
+        for (var skill : Skill.values()) {
+            skillBonuses[skill.ordinal()] = Math.max(0D, section.getDouble("skills." +
+                skill.name().toLowerCase(Locale.US), 1D));
+        }
+
+        var windowsSection = section.getConfigurationSection("windows");
+
+        if (windowsSection != null) {
+            for (var name : windowsSection.getKeys(false)) {
+                var window = windowsSection.getConfigurationSection(name);
+
+                if (window == null || !window.getBoolean("enabled", true)) {
+                    continue;
+                }
+
+                try {
+                    var skills = EnumSet.noneOf(Skill.class);
+                    double factor = window.getDouble("factor", 1D);
+
+                    window.getStringList("skills").forEach(skill -> skills.add(Skill.valueOf(
+                        skill.toUpperCase(Locale.US))));
+
+                    if (window.contains("days")) {
+                        var days = EnumSet.noneOf(DayOfWeek.class);
+
+                        window.getStringList("days").forEach(day -> days.add(DayOfWeek.valueOf(
+                            day.toUpperCase(Locale.US))));
+                        windows.add(MultiplierWindow.weekly(name, factor, skills, days,
+                            LocalTime.parse(window.getString("start-time", "00:00")),
+                            LocalTime.parse(window.getString("end-time", window.getString("start-time", "00:00")))));
+                    } else {
+                        windows.add(MultiplierWindow.between(name, factor, skills,
+                            LocalDateTime.parse(Objects.requireNonNull(window.getString("start"), "start")),
+                            LocalDateTime.parse(Objects.requireNonNull(window.getString("end"), "end"))));
+                    }
+                } catch (IllegalArgumentException | NullPointerException | DateTimeException e) {
+                    getLogger().log(Level.WARNING, "The experience multiplier window \"" + name + "\" is malformed " +
+                        "and has been skipped!", e);
+                }
+            }
+        }
+
+        var zone = section.getString("zone", "");
+
+        return new ExperienceMultipliers(zone.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(zone), skillBonuses,
+            windows, System.currentTimeMillis());
+    }
+
+    /**
+     * Grants the boosters that were saved when the plugin last stopped, unless they have expired since.
+     */
+    private void loadBoosters() {
+        try {
+            int loaded = multipliers.load(getDataFolder().toPath().resolve(BOOSTERS_FILE), System.currentTimeMillis());
+
+            if (loaded > 0) {
+                getLogger().info("Restored " + loaded + " active experience boosters.");
+            }
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "The experience boosters could not be restored!", e);
+        }
+    }
+
+    /**
+     * Saves every active booster to this plugin's data folder, so that it is restored when the plugin next starts.
+     */
+    public void saveBoosters() {
+        try {
+            multipliers.save(getDataFolder().toPath().resolve(BOOSTERS_FILE));
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, "The experience boosters could not be saved!", e);
+        }
+    }
+
+    /**
+     * Rebuilds the experience multipliers if a window has opened or closed, or a booster has expired.
+     */
+    private void refreshMultipliers() {
+        if (multipliers.refresh(System.currentTimeMillis())) {
+            var open = multipliers.getOpenWindows();
+
+            getLogger().info(open.isEmpty() ? "No experience multiplier windows are open." :
+                "Open experience multiplier windows: " + String.join(", ", open) + ".");
+        }
+    }
+
+    /**
+     * Builds the leaderboards of the current day and week from the period table.
+     * <br><br>
+     * This runs on the main thread, before any experience can be granted, as the stored gains are added to those in
+     * memory; the period table only holds the players who have gained experience recently, so it is quick to read.
+     */
+    private void loadPeriodLeaderboards() {
+        long start = System.nanoTime();
+
+        Database.getMySQL().connect((Connection connection) -> {
+            try {
+                int rows = periodLeaderboards.load(connection);
+
+                getLogger().info("Built the daily and weekly leaderboards from " + rows + " rows in " +
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+            } catch (SQLException e) {
+                Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when building the daily and weekly " +
+                    "leaderboards!", e);
+            }
+        });
+    }
+
+    /**
+     * Starts a new bucket of every period whose current bucket has ended, and prunes the buckets that have passed their
+     * retention.
+     * <br><br>
+     * Pending experience is flushed first, so that experience gained before the boundary is attributed to the bucket
+     * that is ending. Experience that cannot be flushed in time, because the database is unreachable, is attributed to
+     * whichever bucket is current when it is eventually flushed.
+     */
+    private void rollOverPeriods() {
+        var now = Instant.now();
+
+        if (!periodLeaderboards.isDue(now)) {
+            return;
+        }
+
+        flush();
+
+        var rolled = periodLeaderboards.rollOver(now);
+
+        if (rolled.isEmpty()) {
+            return;
+        }
+
+        getLogger().info("Started new " + rolled.stream().map(period -> period.name().toLowerCase(Locale.US))
+            .collect(Collectors.joining(" and ")) + " leaderboards.");
+
+        Database.getMySQL().connect((Connection connection) -> {
+            try {
+                int rows = periodLeaderboards.prune(connection, periodRetentionDays);
+
+                connection.commit();
+
+                if (rows > 0) {
+                    getLogger().info("Pruned " + rows + " rows of past periods.");
+                }
+            } catch (SQLException e) {
+                rollback(connection);
+                Bukkit.getLogger().log(Level.SEVERE, "A SQLException occurred when pruning past periods!", e);
+            }
+        });
+    }
+
+    /**
+     * Reads the tracked skill changes that could not be written when the plugin was last disabled, so that they are
+     * written along with the first flush.
+     */
+    private void recoverTrackedSkills() {
+        try {
+            int recovered = trackedSkills.recover(getDataFolder().toPath().resolve(TRACKED_SKILLS_SPILL_FILE));
+
+            if (recovered > 0) {
+                getLogger().info("Recovered " + recovered + " tracked skill changes that were never written.");
+            }
+        } catch (IOException e) {
+            getLogger().log(Level.WARNING, "The spilled tracked skill changes could not be recovered!", e);
+        }
     }
 
     @Override
     public void onDisable() {
+        // The plugin was disabled while it was being enabled, before any experience could be gained.
+        if (pendingExperience == null) {
+            return;
+        }
+
         getServer().broadcastMessage(ChatColor.translateAlternateColorCodes('&',
-            "&f[&aSkill&f] Plugin is being disabled; expect temporary lag!"));
-        Database.getMySQL().connect((Consumer<Connection>) skillManager::addExperienceHelper);
+            "&f[&aSkill&f] Plugin is being disabled; saving experience..."));
+        drain();
+        saveBoosters();
         getServer().broadcastMessage(ChatColor.translateAlternateColorCodes('&',
             "&f[&aSkill&f] Plugin has been disabled!"));
+
+        try {
+            metrics.unregisterMBean();
+        } catch (JMException e) {
+            getLogger().log(Level.WARNING, "The skill metrics could not be unregistered from JMX!", e);
+        }
+    }
+
+    /**
+     * Registers the gauges of this plugin and of the database, and exposes every metric over JMX.
+     */
+    private void registerMetrics() {
+        var mySQL = Database.getMySQL();
+        var executor = mySQL.getExecutor();
+
+        metrics.gauge("store.players", store::size);
+        metrics.gauge("tracker.players", trackerMap::size);
+        metrics.gauge("flush.circuit-breaker.state", () -> flushBreaker.getState().ordinal());
+        metrics.gauge("flush.consecutive-failures", flushBreaker::getFailures);
+        metrics.gauge("tracker.pending-writes", trackedSkills::size);
+        metrics.gauge("multipliers.boosted-players", multipliers::getBoostedPlayers);
+
+        for (var skill : Skill.values()) {
+            metrics.gauge("leaderboard." + skill.name().toLowerCase(Locale.US) + ".players",
+                leaderboards.get(skill)::size);
+        }
+
+        metrics.gauge("flush.retained.players", () -> {
+            var snapshot = retained;
+            return snapshot == null ? 0L : snapshot.size();
+        });
+        metrics.register("database.connection.acquire", mySQL.getAcquireLatency());
+        metrics.register("database.connection.usage", mySQL.getUsageLatency());
+        metrics.gauge("database.connection.failures", mySQL::getFailureCount);
+        metrics.gauge("database.pool.active", mySQL::getActiveConnections);
+        metrics.gauge("database.pool.idle", mySQL::getIdleConnections);
+        metrics.gauge("database.pool.total", mySQL::getTotalConnections);
+        metrics.gauge("database.pool.awaiting", mySQL::getThreadsAwaitingConnection);
+        metrics.gauge("database.executor.queued", executor::getQueueDepth);
+        metrics.gauge("database.executor.active", executor::getActiveCount);
+        metrics.gauge("database.executor.completed", executor::getCompletedTaskCount);
+        metrics.gauge("database.executor.rejected", executor::getRejectedTaskCount);
+        metrics.gauge("database.executor.latency.mean_us",
+            () -> TimeUnit.NANOSECONDS.toMicros(executor.getAverageLatencyNanos()));
+        metrics.gauge("database.executor.latency.max_us",
+            () -> TimeUnit.NANOSECONDS.toMicros(executor.getMaxLatencyNanos()));
+
+        try {
+            metrics.registerMBean(METRICS_MBEAN_NAME);
+        } catch (JMException e) {
+            getLogger().log(Level.WARNING, "The skill metrics could not be registered with JMX!", e);
+        }
+    }
+
+    /**
+     * Registers the event handlers of the specified {@link Listener}, recording the latency of each of them in this
+     * plugin's {@link MetricRegistry}.
+     * <br><br>
+     * Skill plugins should register their listeners through this method, rather than through the server's plugin
+     * manager, so that their handlers appear in {@code /skillstats}.
+     *
+     * @param listener the listener.
+     * @param plugin   the plugin that the listener belongs to.
+     */
+    public void registerEvents(Listener listener, Plugin plugin) {
+        TimedEventExecutor.registerEvents(listener, plugin, metrics);
+    }
+
+    /**
+     * Registers the blocks and tools of a gathering skill, such as Mining or Woodcutting, whose block events are then
+     * handled by this plugin, replacing the gathering skill that the specified plugin registered previously, if any.
+     * <br><br>
+     * Gathering skill plugins should register their blocks and tools through this method, rather than listen for block
+     * events themselves, so that each block event is classified once and only reaches the skill that cares about it.
+     *
+     * @param plugin the plugin.
+     * @param skill  the blocks and tools of the gathering skill.
+     * @throws IllegalArgumentException if one of the skill's blocks or tools is already a block or tool of another
+     *                                  plugin's gathering skill, in which case nothing has been registered.
+     */
+    public void registerGatheringSkill(Plugin plugin, GatheringSkill skill) {
+        blockInteractions.register(plugin.getName(), skill);
+    }
+
+    /**
+     * Registers a skill plugin whose configuration is reloaded by {@code /skillreload}.
+     *
+     * @param plugin     the plugin.
+     * @param reloadable reloads the plugin's configuration.
+     */
+    public void registerReloadable(Plugin plugin, Reloadable reloadable) {
+        reloadables.put(plugin.getName(), reloadable);
+    }
+
+    /**
+     * Reloads the configuration of every registered skill plugin asynchronously, and reports the outcome of each to the
+     * specified sender.
+     * <br><br>
+     * Event handling carries on throughout; each plugin swaps in its new configuration as soon as it has been loaded,
+     * and a plugin whose configuration is invalid keeps its previous configuration.
+     *
+     * @param sender the sender that requested the reload.
+     */
+    public void reloadSkills(CommandSender sender) {
+        getServer().getScheduler().runTaskAsynchronously(this, () -> reloadables.forEach((name, reloadable) -> {
+            long start = System.nanoTime();
+
+            try {
+                reloadable.reload();
+                sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] Reloaded &a" + name +
+                    " &fin " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms."));
+            } catch (RuntimeException e) {
+                getLogger().log(Level.WARNING, "The configuration of " + name + " could not be reloaded!", e);
+                sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] &c" + name +
+                    " could not be reloaded, and kept its previous configuration: " + e.getMessage()));
+            }
+        }));
+    }
+
+    /**
+     * Gets the counters, gauges, and latency histograms of this plugin and every skill plugin.
+     *
+     * @return the metric registry.
+     */
+    public MetricRegistry getMetrics() {
+        return metrics;
     }
 
     /**
      * Gives the specified amount of experience in the specified skill to the specified {@link Player player}.
      * <br><br>
-     * If the specified amount of experience is less than or equal to {@code 0}, nothing happens.
+     * If the specified amount of experience is less than or equal to {@code 0}, nothing happens. Otherwise, it is
+     * multiplied by the player's factor in the skill, as determined by the {@link ExperienceMultipliers}.
      *
      * @param player the player to give the experience to.
      * @param skill  the skill to give the experience in.
@@ -97,93 +829,503 @@ public final class SkillManager extends JavaPlugin {
             return;
         }
 
-        // TODO: Add mechanism for double experience events/weekends.
+        // Experience gained while the plugin is being disabled could no longer be flushed.
+        if (!accepting) {
+            return;
+        }
 
         var uuid = player.getUniqueId();
 
-        experienceMap.computeIfPresent(uuid, (UUID key, Map<Skill, MutableInt> skills) -> {
-            int oldExperience = skills.get(skill).get();
-            int oldLevel = SkillUtility.getLevelForExperience(oldExperience);
-            int newLevel = SkillUtility.getLevelForExperience(oldExperience + amount);
+        amount = multipliers.apply(uuid, skill, amount);
+
+        // A factor below 1 may round a small grant down to nothing.
+        if (amount <= 0) {
+            return;
+        }
+
+        int newLevel = store.addExperience(uuid, skill, amount);
+
+        // If the player's experience has not been loaded yet, return.
+        if (newLevel == PlayerSkillStore.ABSENT) {
+            return;
+        }
+
+        pendingExperience.add(uuid, skill, amount);
+        leaderboards.update(uuid, skill, store.getExperience(uuid, skill));
+
+        if (periodLeaderboards != null) {
+            periodLeaderboards.add(uuid, skill, amount);
+        }
+
+        grants[skill.ordinal()].mark();
+        grantedExperience[skill.ordinal()].mark(amount);
+
+        if (newLevel != PlayerSkillStore.NO_LEVEL_UP) {
+            levelUps.increment();
+            getServer().getPluginManager().callEvent(new PlayerSkillLevelUpEvent(player, skill, newLevel));
+        }
+
+        updateTracker(player, skill);
+    }
+
+    /**
+     * Schedules a flush of all pending experience in the background, shortly from now, unless one is already
+     * scheduled.
+     * <br><br>
+     * This is used when a {@link Player player} quits, so that their experience reaches the database long before the
+     * next periodic flush.
+     */
+    public void flushSoon() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            getServer().getScheduler().runTaskLaterAsynchronously(this, () -> {
+                flushScheduled.set(false);
+                flush();
+            }, quitFlushDelay);
+        }
+    }
 
-            if (oldLevel != newLevel) {
-                getServer().getPluginManager().callEvent(
-                    new PlayerSkillLevelUpEvent(getServer().getPlayer(uuid), skill, newLevel));
+    /**
+     * Flushes all pending experience, along with any changes to players' tracked skills, to the database on the calling
+     * thread, unless a previous failure has delayed the next attempt.
+     *
+     * @return {@code true} if the flush was attempted, otherwise {@code false}.
+     */
+    private boolean flush() {
+        if (!flushBreaker.allowAttempt(System.nanoTime())) {
+            return false;
+        }
+
+        try {
+            if (shardedPublisher != null) {
+                flushSharded();
+            } else {
+                // If a connection cannot be acquired, nothing has been swapped out of the buffer, so nothing is lost.
+                Database.getMySQL().connect((Consumer<Connection>) this::addExperienceHelper, this::onFlushFailure);
             }
+        } catch (RuntimeException e) {
+            // The attempt must still be recorded, or a trial attempt would leave the breaker half-open, and no flush
+            // would ever be attempted again.
+            flushBreaker.onFailure(System.nanoTime());
+            throw e;
+        }
 
-            pendingExperience.compute(uuid, (unused, value) -> addExperienceHelper(skill, amount, value));
+        // Tracked skills are only written while the database is reachable; otherwise, they wait for a later flush.
+        if (retained == null && trackedSkills.size() > 0) {
+            flushTrackedSkills();
+        }
 
-            Map<Skill, MutableInt> updatedExperienceMap = addExperienceHelper(skill, amount, skills);
-            updateTracker(player, skill);
-            return updatedExperienceMap;
-        });
+        return true;
+    }
+
+    /**
+     * Writes every change to players' tracked skills to the database on the calling thread.
+     */
+    private void flushTrackedSkills() {
+        var changes = trackedSkills.drain();
+
+        Database.getMySQL().connect((Connection connection) -> {
+            try {
+                TrackedSkillWriter.publish(connection, changes);
+                connection.commit();
+                trackedSkills.acknowledge(changes);
+            } catch (SQLException e) {
+                rollback(connection);
+                Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, e);
+            }
+        }, exception -> Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, exception));
+    }
+
+    /**
+     * Flushes every pending delta and tracked skill change while the plugin is being disabled, within a hard deadline.
+     * <br><br>
+     * New experience is no longer accepted, and no further flushes are scheduled. Flushes that are already running on
+     * other threads are given part of the deadline to finish. The remaining experience is then published in parallel
+     * shards; any shard that is not ready to commit by the deadline is rolled back, and its deltas are spilled to the
+     * journal, to be flushed when the plugin next starts. Tracked skill changes that miss the deadline are spilled to
+     * a file of their own.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        long deadline = start + drainDeadlineNanos;
+
+        // Half of the deadline is left for the drain itself, however long running flushes take.
+        long halfway = start + drainDeadlineNanos / 2L;
+
+        accepting = false;
+        getServer().getScheduler().cancelTasks(this);
+        awaitWorkers(halfway);
+
+        var locked = false;
+
+        try {
+            locked = flushLock.tryLock(Math.max(0L, halfway - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            var snapshot = pendingExperience.swap();
+
+            // A flush that is still running owns the retained experience, which is drained once that flush finishes.
+            if (locked && retained != null) {
+                snapshot = retained.mergeWith(snapshot);
+                retained = null;
+            }
+
+            var mySQL = Database.getMySQL();
+            var changes = trackedSkills.drain();
+            CompletableFuture<Boolean> trackedSkillsWritten;
+
+            try {
+                trackedSkillsWritten = changes.isEmpty() ? CompletableFuture.completedFuture(true) :
+                    mySQL.connectAsync((Connection connection) -> {
+                        try {
+                            TrackedSkillWriter.publish(connection, changes);
+
+                            if (System.nanoTime() - deadline >= 0L) {
+                                rollback(connection);
+                                return false;
+                            }
+
+                            connection.commit();
+                            return true;
+                        } catch (SQLException e) {
+                            rollback(connection);
+                            Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, e);
+                            return false;
+                        }
+                    }, exception -> Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, exception));
+            } catch (RejectedExecutionException e) {
+                getLogger().log(Level.WARNING, "The database is too busy to write players' tracked skills!", e);
+                trackedSkillsWritten = CompletableFuture.completedFuture(false);
+            }
+
+            var outcome = drainPublisher.publish(snapshot, mySQL::connectAsync, deadline, DRAIN_GRACE_NANOS);
+
+            flushedRows.mark(outcome.getRows());
+
+            if (outcome.getCause() == null) {
+                snapshot.acknowledge();
+            } else {
+                spill(snapshot, outcome);
+            }
+
+            int rows = outcome.getRows();
+
+            if (!locked) {
+                rows += drainRetained(deadline);
+            }
+
+            if (awaitQuietly(trackedSkillsWritten, deadline + DRAIN_GRACE_NANOS)) {
+                trackedSkills.acknowledge(changes);
+            } else {
+                spillTrackedSkills(changes);
+            }
+
+            getLogger().info("Flushed the experience of " + rows + " players in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+        } finally {
+            if (locked) {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Waits for a flush that was still running when the plugin began to be disabled to finish, then publishes the
+     * experience that it retained, spilling any of it that is not published in time to the journal.
+     * <br><br>
+     * As no retry can be scheduled once the plugin is disabled, this is the last chance to publish that experience.
+     *
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which no shard is committed.
+     * @return the number of rows written.
+     */
+    private int drainRetained(long deadlineNanos) {
+        var locked = false;
+
+        try {
+            locked = flushLock.tryLock(Math.max(0L, deadlineNanos + DRAIN_GRACE_NANOS - System.nanoTime()),
+                TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!locked) {
+            var snapshot = retained;
+
+            if (snapshot != null) {
+                getLogger().severe("A flush did not finish in time, so the experience of " + snapshot.size() +
+                    " players that it retained could not be flushed, nor spilled to the journal; any of it that was " +
+                    "journaled will be replayed when the plugin next starts, and the rest has been lost!");
+            }
+
+            return 0;
+        }
+
+        try {
+            var snapshot = retained;
+
+            retained = null;
+
+            if (snapshot == null || snapshot.isEmpty()) {
+                return 0;
+            }
+
+            var outcome = drainPublisher.publish(snapshot, Database.getMySQL()::connectAsync, deadlineNanos,
+                DRAIN_GRACE_NANOS);
+
+            flushedRows.mark(outcome.getRows());
+
+            if (outcome.getCause() == null) {
+                snapshot.acknowledge();
+            } else {
+                spill(snapshot, outcome);
+            }
+
+            return outcome.getRows();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until no asynchronous task of this plugin is running, or until the specified time.
+     *
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which to stop waiting.
+     */
+    private void awaitWorkers(long deadlineNanos) {
+        var scheduler = getServer().getScheduler();
+
+        while (System.nanoTime() - deadlineNanos < 0L &&
+                scheduler.getActiveWorkers().stream().anyMatch(worker -> worker.getOwner() == this)) {
+            try {
+                Thread.sleep(5L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits for the specified future until the specified time.
+     *
+     * @param future        the future.
+     * @param deadlineNanos the time, as returned by {@link System#nanoTime()}, after which to stop waiting.
+     * @return {@code true} if the future completed with {@code true} in time, otherwise {@code false}.
+     */
+    private static boolean awaitQuietly(CompletableFuture<Boolean> future, long deadlineNanos) {
+        try {
+            return Boolean.TRUE.equals(future.get(Math.max(0L, deadlineNanos - System.nanoTime()),
+                TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Spills the experience of every shard that could not be flushed while the plugin was being disabled to the
+     * journal, so that it is flushed when the plugin next starts.
+     *
+     * @param snapshot the experience that was being flushed.
+     * @param outcome  the outcome of its shards.
+     */
+    private void spill(ExperienceSnapshot snapshot, ShardedExperiencePublisher.Outcome outcome) {
+        var unpublished = outcome.getUnpublished();
+        var spilled = journal == null ? null : journal.rewrite(unpublished);
+
+        if (spilled != null) {
+            snapshot.acknowledge();
+            getLogger().log(Level.WARNING, "The experience of " + unpublished.size() + " players could not be " +
+                "flushed in time; it has been spilled to the journal, and will be flushed when the plugin next " +
+                "starts.", outcome.getCause());
+        } else {
+            getLogger().log(Level.SEVERE, "The experience of " + unpublished.size() + " players could not be " +
+                "flushed in time, nor spilled to the journal; any of it that was journaled will be replayed when " +
+                "the plugin next starts, and the rest has been lost!", outcome.getCause());
+        }
+    }
+
+    /**
+     * Spills the specified tracked skill changes to a file, so that they are written when the plugin next starts.
+     *
+     * @param changes the changes.
+     */
+    private void spillTrackedSkills(Map<UUID, Skill> changes) {
+        try {
+            TrackedSkillWriter.spill(getDataFolder().toPath().resolve(TRACKED_SKILLS_SPILL_FILE), changes);
+            getLogger().warning(changes.size() + " tracked skill changes could not be written in time; they will be " +
+                "written when the plugin next starts.");
+        } catch (IOException e) {
+            getLogger().log(Level.SEVERE, changes.size() + " tracked skill changes could not be written in time, " +
+                "nor spilled, and have been lost!", e);
+        }
+    }
+
+    /**
+     * Publishes all pending experience updates for all {@link Player}s to the database, with each shard of players
+     * published concurrently over its own connection, in its own transaction.
+     * <br><br>
+     * Only the deltas of shards that fail are retained and retried along with the next flush; the deltas of shards that
+     * were committed are discarded, and removed from the journal.
+     */
+    private void flushSharded() {
+        flushLock.lock();
+
+        try {
+            long start = System.nanoTime();
+            var snapshot = pendingExperience.swap();
+
+            if (retained != null) {
+                snapshot = retained.mergeWith(snapshot);
+            }
+
+            try {
+                var outcome = shardedPublisher.publish(snapshot, Database.getMySQL()::connectAsync);
+
+                flushedRows.mark(outcome.getRows());
+
+                if (outcome.getCause() == null) {
+                    snapshot.acknowledge();
+                    retained = null;
+                    onFlushSuccess();
+                } else {
+                    retained = outcome.getUnpublished().size() == snapshot.size() ? snapshot :
+                        snapshot.narrowTo(outcome.getUnpublished());
+                    onFlushFailure(outcome.getCause());
+                }
+            } finally {
+                long duration = System.nanoTime() - start;
+
+                flushLatency.record(duration);
+                flushScheduler.recordFlush(duration);
+            }
+        } finally {
+            flushLock.unlock();
+        }
     }
 
     /**
      * Publishes all pending experience updates for all {@link Player}s to the database.
+     * <br><br>
+     * The pending experience is swapped out for a fresh generation before it is serialized, so experience that is
+     * gained while this method runs is published by the next invocation. The deltas are only discarded, and removed
+     * from the journal, once the transaction has been committed; if it fails, they are rolled back, retained, and
+     * retried along with the next flush.
      *
      * @param connection a connection to the database.
      */
     private void addExperienceHelper(Connection connection) {
-        try (var statement = connection.createStatement()) {
-            for (var uuid : pendingExperience.keySet()) {
-                pendingExperience.computeIfPresent(uuid, (UUID key, Map<Skill, MutableInt> value) -> {
-                    try {
-                        addToBatch(uuid, value, statement);
-                    } catch (SQLException e) {
-                        String message = "A SQLException occurred when adding queries to a batch!";
-                        Bukkit.getLogger().log(Level.SEVERE, message, e);
-                    }
+        flushLock.lock();
 
-                    return null;
-                });
+        try {
+            long start = System.nanoTime();
+            var snapshot = pendingExperience.swap();
+
+            if (retained != null) {
+                snapshot = retained.mergeWith(snapshot);
             }
 
-            statement.executeBatch();
-        } catch (SQLException e) {
-            String message = "A SQLException occurred when updating all players' experience!";
-            Bukkit.getLogger().log(Level.SEVERE, message, e);
+            try {
+                flushedRows.mark(publisher.publish(connection, snapshot));
+                connection.commit();
+                snapshot.acknowledge();
+                retained = null;
+                onFlushSuccess();
+            } catch (SQLException e) {
+                retained = snapshot;
+                rollback(connection);
+                onFlushFailure(e);
+            } finally {
+                long duration = System.nanoTime() - start;
+
+                flushLatency.record(duration);
+                flushScheduler.recordFlush(duration);
+            }
+        } finally {
+            flushLock.unlock();
         }
     }
 
     /**
-     * A helper method for {@link #addExperience(Player, Skill, int)} to reduce duplicate code.
-     *
-     * @param skill  the skill to give the experience to.
-     * @param amount the amount of experience to give.
-     * @param skills a mapping of skills to their respective amount of experience.
-     * @return a new or modified map, depending on the initial state of {@code skills}.
+     * Records a successful flush, which closes the {@link CircuitBreaker}.
      */
-    private Map<Skill, MutableInt> addExperienceHelper(Skill skill, int amount, Map<Skill, MutableInt> skills) {
-        if (skills == null) {
-            return new EnumMap<>(Map.of(skill, new MutableInt(amount)));
+    private void onFlushSuccess() {
+        int failures = flushBreaker.onSuccess();
+
+        if (failures > 0) {
+            getLogger().info("Pending experience was flushed after " + failures + " failed attempts.");
         }
+    }
+
+    /**
+     * Records a failed flush, and schedules it to be retried once the delay chosen by the {@link CircuitBreaker} has
+     * passed.
+     *
+     * @param e the exception that caused the flush to fail.
+     */
+    private void onFlushFailure(SQLException e) {
+        flushFailures.increment();
+
+        var wasOpen = flushBreaker.getState() != CircuitBreaker.State.CLOSED;
+        long delay = flushBreaker.onFailure(System.nanoTime());
+        var snapshot = retained;
+        var pending = snapshot == null ? "" : " The experience of " + snapshot.size() + " players is being retained.";
 
-        skills.merge(skill, new MutableInt(amount), (oldValue, unused) -> oldValue.add(amount));
+        if (flushBreaker.getFailures() == 1) {
+            String message = "A SQLException occurred when updating all players' experience!" + pending;
+            Bukkit.getLogger().log(Level.SEVERE, message, e);
+        } else if (flushBreaker.getState() == CircuitBreaker.State.OPEN && !wasOpen) {
+            getLogger().severe("Flushing experience has failed " + flushBreaker.getFailures() + " times in a row; " +
+                "no flush will be attempted for " + TimeUnit.NANOSECONDS.toSeconds(delay) + " seconds." + pending);
+        } else {
+            getLogger().warning("Flushing experience failed again (" + e.getMessage() + "); retrying in " +
+                TimeUnit.NANOSECONDS.toMillis(delay) + " ms." + pending);
+        }
 
-        return skills;
+        if (isEnabled() && retryScheduled.compareAndSet(false, true)) {
+            getServer().getScheduler().runTaskLaterAsynchronously(this, () -> {
+                retryScheduled.set(false);
+                flush();
+            }, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(delay) / 50L));
+        }
     }
 
     /**
-     * A helper method to reduce duplicate code in {@link #addExperienceHelper(Connection)}.
+     * Rolls back the specified connection's transaction, so that a partially-published snapshot is not committed.
      *
-     * @param uuid   the unique identifier of the player to update the experience for.
-     * @param skills a map containing the skills to update, as well as the respective experience increments.
+     * @param connection the connection.
      */
-    private void addToBatch(UUID uuid, Map<Skill, MutableInt> skills, Statement statement) throws SQLException {
-        for (var entry : skills.entrySet()) {
-            String column = '`' + entry.getKey().name().toLowerCase(Locale.US) + "_skill_exp`";
-            statement.addBatch("UPDATE `survival_player_skill_data` SET " + column + " = " + column + " + " +
-                entry.getValue().get() + " WHERE `uuid` = '" + uuid + "';");
+    private static void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            Bukkit.getLogger().log(Level.WARNING, "A SQLException occurred when rolling back a failed flush!", e);
         }
     }
 
+    /**
+     * Converts the specified number of ticks to nanoseconds.
+     *
+     * @param ticks the number of ticks.
+     * @return the number of nanoseconds.
+     */
+    private static long ticksToNanos(long ticks) {
+        return TimeUnit.MILLISECONDS.toNanos(ticks * 50L);
+    }
+
     /**
      * Creates an experience orb that provides the specified amount of experience in the specified
      * {@link Skill skill} at the specified {@link Location location}.
      * <br><br>
      * The skill experience will be rewarded to whichever player picks up the orb, which may not be the
      * {@link Player player} that the orb was created for.
+     * <br><br>
+     * Depending on the configured {@link OrbMode}, the experience may instead be added to a nearby orb that carries
+     * experience in the same skill, or credited to the player immediately without spawning an orb at all.
      *
      * @param player     The player that prompted the creation of this orb.
      * @param location   The location at which to spawn the orb.
@@ -191,13 +1333,92 @@ public final class SkillManager extends JavaPlugin {
      * @param experience The amount of experience in the specified skill that the orb should provide.
      */
     public void createExperienceOrb(Player player, Location location, Skill skill, int experience) {
+        switch (orbMode) {
+            case DIRECT:
+                addExperience(player, skill, experience);
+                return;
+            case VISUAL:
+                addExperience(player, skill, experience);
+                player.spawnParticle(Particle.VILLAGER_HAPPY, location.clone().add(0.5D, 0.5D, 0.5D), 4);
+                player.playSound(location, Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.1F, 1F);
+                return;
+            case AGGREGATED:
+                for (var orb : location.getWorld().getNearbyEntitiesByType(ExperienceOrb.class, location,
+                        orbMergeRadius)) {
+                    var payload = getOrbPayload(orb);
+
+                    if (orb.isValid() && payload != NO_PAYLOAD && SkillUtility.unpackSkill(payload) == skill) {
+                        setOrbPayload(orb, skill, SkillUtility.unpackExperience(payload) + experience);
+                        return;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
         player.getWorld().spawn(location, ExperienceOrb.class, (ExperienceOrb orb) -> {
             orb.setExperience(0);
-            orb.setMetadata(SkillUtility.SKILL_METADATA_KEY,
-                new FixedMetadataValue(this, new SkillExperience(skill, experience)));
+            setOrbPayload(orb, skill, experience);
         });
     }
 
+    /**
+     * Determines whether or not two orbs may merge, and if they may, moves the skill experience of the orb that is
+     * being merged into the orb that it is being merged into.
+     * <br><br>
+     * Orbs only merge in {@link OrbMode#AGGREGATED}, and only if they carry experience in the same {@link Skill skill}.
+     *
+     * @param target the orb that absorbs the other orb.
+     * @param source the orb that is absorbed, and removed if the orbs merge.
+     * @return {@code true} if the orbs may merge, otherwise {@code false}.
+     */
+    public boolean mergeExperienceOrbs(ExperienceOrb target, ExperienceOrb source) {
+        if (orbMode != OrbMode.AGGREGATED) {
+            return false;
+        }
+
+        var targetPayload = getOrbPayload(target);
+        var sourcePayload = getOrbPayload(source);
+
+        if (targetPayload == NO_PAYLOAD || sourcePayload == NO_PAYLOAD ||
+                SkillUtility.unpackSkill(targetPayload) != SkillUtility.unpackSkill(sourcePayload)) {
+            return false;
+        }
+
+        setOrbPayload(target, SkillUtility.unpackSkill(targetPayload),
+            SkillUtility.unpackExperience(targetPayload) + SkillUtility.unpackExperience(sourcePayload));
+        source.getPersistentDataContainer().remove(orbPayloadKey);
+        return true;
+    }
+
+    /**
+     * Gets the skill experience carried by the specified orb.
+     * <br><br>
+     * The skill experience is stored in the orb's persistent data container, so it is discarded along with the orb
+     * when it is picked up or despawns, and is saved and loaded along with the orb when its chunk unloads and loads.
+     *
+     * @param orb the orb.
+     * @return the skill experience, packed by {@link SkillUtility#packSkillExperience(Skill, int)}, or
+     *         {@link #NO_PAYLOAD} if the orb does not carry any.
+     */
+    public long getOrbPayload(ExperienceOrb orb) {
+        var payload = orb.getPersistentDataContainer().get(orbPayloadKey, PersistentDataType.LONG);
+        return payload == null ? NO_PAYLOAD : payload;
+    }
+
+    /**
+     * Sets the skill experience carried by the specified orb.
+     *
+     * @param orb        the orb.
+     * @param skill      the skill.
+     * @param experience the amount of experience.
+     */
+    private void setOrbPayload(ExperienceOrb orb, Skill skill, int experience) {
+        orb.getPersistentDataContainer().set(orbPayloadKey, PersistentDataType.LONG,
+            SkillUtility.packSkillExperience(skill, experience));
+    }
+
     /**
      * Determines whether or not a {@link Player player} is allowed to perform a specific action depending on if their
      * level in the skill specified is greater than or equal to the specified required level.
@@ -212,7 +1433,8 @@ public final class SkillManager extends JavaPlugin {
      */
     public boolean doesNotMeetLevelRequirement(Player player, Skill skill, int requiredLevel,
                                                IntFunction<String> function) {
-        int level = SkillUtility.getLevelForExperience(experienceMap.get(player.getUniqueId()).get(skill).get());
+        // Until the player's experience has been loaded, treat them as being the lowest level in the skill.
+        int level = Math.max(1, store.getLevel(player.getUniqueId(), skill));
 
         if (level < requiredLevel) {
             player.sendActionBar('&', "A &a" + skill.getDisplay() + "&f level of &a" +
@@ -226,52 +1448,84 @@ public final class SkillManager extends JavaPlugin {
     /**
      * Updates a specified {@link Player}'s tracker with a tracker for a specified {@link Skill}.
      * <br><br>
-     * If the specified skill is the same skill that the player is already tracking, then the tracker's progress is
-     * simply updated. Otherwise, the player is removed from the old tracker and a new tracker is created with the
-     * new skill.
+     * If the specified skill is the same skill that the player is already tracking, then the tracker is marked to be
+     * redrawn by the {@link TrackerRenderer}, which coalesces any number of updates into a single redraw. Otherwise,
+     * the player is removed from the old tracker and a new tracker is created with the new skill.
      *
      * @param player the player to update the tracker for.
      * @param skill  the skill to use for the updated tracker.
      */
     public void updateTracker(Player player, Skill skill) {
+        var xp = store.getExperience(player.getUniqueId(), skill);
+
+        // If the player's experience has not been loaded yet, there is nothing to track.
+        if (xp == PlayerSkillStore.ABSENT) {
+            return;
+        }
+
+        trackerUpdates.mark();
+
+        var current = trackerMap.get(player.getUniqueId());
+
+        if (current != null && current.getSkill() == skill) {
+            trackerRenderer.markDirty(player.getUniqueId());
+            return;
+        }
+
+        var level = store.getLevel(player.getUniqueId(), skill);
+
         trackerMap.compute(player.getUniqueId(), (UUID uuid, SkillTracker tracker) -> {
-            var xp = experienceMap.get(uuid).get(skill).get();
-            var level = SkillUtility.getLevelForExperience(xp);
 
             if (tracker != null) {
                 if (tracker.getSkill() == skill) {
-                    var bar = tracker.getBar();
-
-                    bar.setProgress(SkillUtility.getProgress(xp, level));
-                    bar.setTitle(SkillUtility.formatDisplay(skill, xp));
-
+                    trackerRenderer.markDirty(uuid);
                     return tracker;
                 }
 
                 tracker.getBar().removePlayer(player);
             }
 
-            Bukkit.getScheduler().runTaskAsynchronously(skillManager, () -> {
-                Database.getMySQL().connect((Connection connection) -> {
-                    try (var statement = connection.createStatement()) {
-                        statement.executeUpdate("UPDATE `survival_player_skill_data` SET `tracked_skill` = '" +
-                            skill.name() + "' WHERE `uuid` = '" + uuid + "';");
-                    } catch (SQLException e) {
-                        Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, e);
-                    }
-                }, exception -> Bukkit.getLogger().log(Level.SEVERE, SQL_EXCEPTION_MESSAGE, exception));
-            });
+            trackerSwitches.increment();
+            trackedSkills.set(uuid, skill);
 
-            var bar = Bukkit.createBossBar(SkillUtility.formatDisplay(skill, xp), BarColor.WHITE, BarStyle.SOLID);
+            var bar = Bukkit.createBossBar("", BarColor.WHITE, BarStyle.SOLID);
+            var newTracker = new SkillTracker(skill, bar);
 
+            newTracker.render(xp, level);
             bar.addPlayer(player);
-            bar.setProgress(SkillUtility.getProgress(xp, level));
             bar.setVisible(true);
 
-            return new SkillTracker(skill, bar);
+            return newTracker;
         });
     }
 
+    /**
+     * Gets the leaderboards of every skill.
+     *
+     * @return the leaderboards.
+     */
+    public Leaderboards getLeaderboards() {
+        return leaderboards;
+    }
+
+    /**
+     * Gets the multipliers of the experience that players gain.
+     *
+     * @return the multipliers.
+     */
+    public ExperienceMultipliers getMultipliers() {
+        return multipliers;
+    }
+
+    /**
+     * Gets the leaderboards of the current day and week.
+     *
+     * @return the period leaderboards, or {@code null} if they are disabled.
+     */
+    public PeriodLeaderboards getPeriodLeaderboards() {
+        return periodLeaderboards;
+    }
+
     /**
      * Gets a singleton instance of {@link SkillManager}.
      *
@@ -1,5 +1,6 @@
 package com.github.jhg023.spigot.skill;
 
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
 
@@ -23,6 +24,21 @@ public final class SkillTracker {
      */
     private final BossBar bar;
 
+    /**
+     * The experience that the {@link BossBar} was last rendered with, or {@code -1} if it has never been rendered.
+     */
+    private int renderedExperience = -1;
+
+    /**
+     * The title that the {@link BossBar} was last rendered with.
+     */
+    private String renderedTitle;
+
+    /**
+     * The progress that the {@link BossBar} was last rendered with.
+     */
+    private double renderedProgress = -1D;
+
     /**
      * Creates a new {@link SkillTracker} object with the specified {@link Skill} and {@link BossBar}.
      *
@@ -52,6 +68,36 @@ public final class SkillTracker {
         return bar;
     }
 
+    /**
+     * Renders the specified experience and level onto the {@link BossBar}.
+     * <br><br>
+     * The title is only rebuilt if the experience has changed since the last render, and the title and progress are
+     * only sent to the player if they differ from what was last sent.
+     *
+     * @param experience the experience in the tracked {@link Skill}.
+     * @param level      the level that correlates to the experience.
+     */
+    public void render(int experience, int level) {
+        if (experience == renderedExperience) {
+            return;
+        }
+
+        renderedExperience = experience;
+
+        var title = SkillUtility.formatDisplay(skill, experience, level);
+        var progress = SkillUtility.getProgress(experience, level);
+
+        if (!title.equals(renderedTitle)) {
+            renderedTitle = title;
+            bar.setTitle(title);
+        }
+
+        if (progress != renderedProgress) {
+            renderedProgress = progress;
+            bar.setProgress(progress);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
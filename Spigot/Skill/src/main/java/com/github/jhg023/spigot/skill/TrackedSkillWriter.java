@@ -0,0 +1,157 @@
+package com.github.jhg023.spigot.skill;
+
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects changes to the skill that each player is tracking, and writes them to the {@code tracked_skill} column along
+ * with the next flush, rather than with a statement of their own per change.
+ * <br><br>
+ * Only the latest change of each player is kept, so a player who switches between skills repeatedly costs at most one
+ * row per flush. Changes that could not be written when the plugin was disabled are spilled to a file, and are
+ * {@link #recover(Path) recovered} when it next starts.
+ *
+ * @author Jacob Glickman
+ * @version February 3, 2020
+ */
+final class TrackedSkillWriter {
+
+    /**
+     * The statement that updates a single player's tracked skill.
+     */
+    private static final String UPDATE_SQL = "UPDATE `survival_player_skill_data` SET `tracked_skill` = ? " +
+        "WHERE `uuid` = ?;";
+
+    /**
+     * A cached copy of {@link Skill#values()}, indexed by the ordinals that are spilled.
+     */
+    private static final Skill[] SKILLS = Skill.values();
+
+    /**
+     * The latest tracked skill of each player whose change has not been written yet.
+     */
+    private final ConcurrentMap<UUID, Skill> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the specified player is now tracking the specified skill.
+     * <br><br>
+     * This method may be invoked from any thread.
+     *
+     * @param uuid  the unique identifier of the player.
+     * @param skill the skill.
+     */
+    void set(UUID uuid, Skill skill) {
+        pending.put(uuid, skill);
+    }
+
+    /**
+     * Copies the changes that have not been written yet, which must be {@link #acknowledge(Map) acknowledged} once they
+     * have been committed.
+     *
+     * @return the changes, which may be empty.
+     */
+    Map<UUID, Skill> drain() {
+        return new HashMap<>(pending);
+    }
+
+    /**
+     * Writes the specified changes with a single batch, without committing them.
+     *
+     * @param connection the connection to write them over.
+     * @param changes    the changes.
+     * @throws SQLException if a database error occurs.
+     */
+    static void publish(Connection connection, Map<UUID, Skill> changes) throws SQLException {
+        try (var statement = connection.prepareStatement(UPDATE_SQL)) {
+            for (var entry : changes.entrySet()) {
+                statement.setInt(1, entry.getValue().ordinal());
+                statement.setBytes(2, UuidUtility.toBytes(entry.getKey()));
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Discards the specified changes, which have been committed, unless a player has changed their tracked skill again
+     * since they were drained.
+     *
+     * @param changes the changes.
+     */
+    void acknowledge(Map<UUID, Skill> changes) {
+        changes.forEach(pending::remove);
+    }
+
+    /**
+     * Writes the specified changes to a file, one {@code <uuid> <ordinal>} line per player.
+     *
+     * @param file    the file, which is replaced if it exists.
+     * @param changes the changes.
+     * @throws IOException if the file could not be written.
+     */
+    static void spill(Path file, Map<UUID, Skill> changes) throws IOException {
+        var lines = new StringBuilder(changes.size() * 40);
+
+        changes.forEach((uuid, skill) -> lines.append(uuid).append(' ').append(skill.ordinal()).append('\n'));
+        Files.writeString(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the changes that were spilled to the specified file, if it exists, so that they are written with the next
+     * flush, then deletes the file.
+     *
+     * @param file the file.
+     * @return the number of changes that were recovered.
+     * @throws IOException if the file could not be read or deleted.
+     */
+    int recover(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int recovered = 0;
+
+        for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            var parts = line.split(" ");
+
+            if (parts.length != 2) {
+                continue;
+            }
+
+            try {
+                int ordinal = Integer.parseInt(parts[1]);
+
+                if (ordinal >= 0 && ordinal < SKILLS.length) {
+                    pending.putIfAbsent(UUID.fromString(parts[0]), SKILLS[ordinal]);
+                    recovered++;
+                }
+            } catch (IllegalArgumentException e) {
+                // The line was only partially written, so it is skipped.
+            }
+        }
+
+        Files.delete(file);
+        return recovered;
+    }
+
+    /**
+     * Gets the number of players whose change has not been written yet.
+     *
+     * @return the number of players.
+     */
+    int size() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.Player;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Redraws the {@link SkillTracker trackers} of {@link Player players} whose experience has changed.
+ * <br><br>
+ * Rather than rebuilding a tracker's title and sending boss bar packets on every experience grant, a grant only marks
+ * its player as dirty. This renderer runs on the main server thread at a fixed rate (every tick by default) and
+ * redraws each dirty tracker once, so any number of grants between two runs (e.g. every hit during combat) cost a
+ * single redraw.
+ *
+ * @author Jacob Glickman
+ * @version January 22, 2020
+ */
+final class TrackerRenderer implements Runnable {
+
+    /**
+     * The data structure that stores players that are currently tracking a skill on their screen.
+     */
+    private final ConcurrentMap<UUID, SkillTracker> trackerMap;
+
+    /**
+     * The store that every player's experience and level are read from.
+     */
+    private final PlayerSkillStore store;
+
+    /**
+     * The unique identifiers of players whose trackers need to be redrawn.
+     */
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new {@link TrackerRenderer}.
+     *
+     * @param trackerMap the data structure that stores players that are currently tracking a skill.
+     * @param store      the store that every player's experience and level are read from.
+     */
+    TrackerRenderer(ConcurrentMap<UUID, SkillTracker> trackerMap, PlayerSkillStore store) {
+        this.trackerMap = trackerMap;
+        this.store = store;
+    }
+
+    /**
+     * Marks the tracker of the specified {@link Player player} as needing to be redrawn on the next run.
+     *
+     * @param uuid the unique identifier of the player.
+     */
+    void markDirty(UUID uuid) {
+        dirty.add(uuid);
+    }
+
+    /**
+     * Redraws the tracker of every dirty {@link Player player}.
+     */
+    @Override
+    public void run() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        for (var iterator = dirty.iterator(); iterator.hasNext(); ) {
+            var uuid = iterator.next();
+
+            iterator.remove();
+
+            var tracker = trackerMap.get(uuid);
+
+            // The player may have quit since they were marked as dirty.
+            if (tracker == null) {
+                continue;
+            }
+
+            var skill = tracker.getSkill();
+            int experience = store.getExperience(uuid, skill);
+
+            if (experience != PlayerSkillStore.ABSENT) {
+                tracker.render(experience, store.getLevel(uuid, skill));
+            }
+        }
+    }
+}
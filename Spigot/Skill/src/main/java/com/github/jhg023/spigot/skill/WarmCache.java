@@ -0,0 +1,135 @@
+package com.github.jhg023.spigot.skill;
+
+import org.bukkit.entity.Player;
+
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+/**
+ * A bounded cache of the skill data of {@link Player players} who have recently quit, so that a player who reconnects
+ * shortly after quitting can be restored from memory rather than from the database.
+ * <br><br>
+ * Entries expire a fixed amount of time after they are added, and the oldest entries are evicted once the cache holds
+ * its maximum number of entries. As every entry lives for the same amount of time, insertion order is also expiry
+ * order, so both kinds of eviction only ever remove entries from the head of the cache.
+ *
+ * @author Jacob Glickman
+ * @version January 26, 2020
+ */
+final class WarmCache {
+
+    /**
+     * The entries of this cache, in insertion order.
+     */
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * The amount of time, in nanoseconds, that an entry lives for.
+     */
+    private final long ttlNanos;
+
+    /**
+     * The maximum number of entries.
+     */
+    private final int maximumSize;
+
+    /**
+     * Creates a new {@link WarmCache}.
+     *
+     * @param ttlNanos    the amount of time, in nanoseconds, that an entry lives for.
+     * @param maximumSize the maximum number of entries, where {@code 0} disables the cache.
+     */
+    WarmCache(long ttlNanos, int maximumSize) {
+        this.ttlNanos = ttlNanos;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Adds the specified data to this cache, replacing any data that is already cached for the same player.
+     *
+     * @param data the data.
+     */
+    synchronized void put(PlayerSkillData data) {
+        if (maximumSize <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        // Remove before putting, so that a replaced entry moves to the tail along with its new expiry.
+        entries.remove(data.getUniqueId());
+        entries.put(data.getUniqueId(), new Entry(data, now + ttlNanos));
+
+        evict(now);
+    }
+
+    /**
+     * Removes and returns the cached data of the specified player, if it has not expired.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the data, or {@code null} if none is cached.
+     */
+    synchronized PlayerSkillData take(UUID uuid) {
+        long now = System.nanoTime();
+
+        evict(now);
+
+        var entry = entries.remove(uuid);
+        return entry == null ? null : entry.data;
+    }
+
+    /**
+     * Gets the number of entries in this cache, including any that have expired but not yet been evicted.
+     *
+     * @return the number of entries.
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Evicts every expired entry, then the oldest entries until this cache holds no more than its maximum number.
+     *
+     * @param now the current time, in nanoseconds.
+     */
+    private void evict(long now) {
+        var iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+
+            if (entries.size() <= maximumSize && entry.expiresAt - now > 0L) {
+                break;
+            }
+
+            iterator.remove();
+        }
+    }
+
+    /**
+     * A single entry of the cache.
+     */
+    private static final class Entry {
+
+        /**
+         * The cached data.
+         */
+        private final PlayerSkillData data;
+
+        /**
+         * The time, in nanoseconds, at which this entry expires.
+         */
+        private final long expiresAt;
+
+        /**
+         * Creates a new {@link Entry}.
+         *
+         * @param data      the cached data.
+         * @param expiresAt the time, in nanoseconds, at which this entry expires.
+         */
+        private Entry(PlayerSkillData data, long expiresAt) {
+            this.data = data;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -2,14 +2,22 @@ package com.github.jhg023.spigot.skill.command;
 
 import com.github.jhg023.spigot.skill.Skill;
 import com.github.jhg023.spigot.skill.SkillManager;
+import com.github.jhg023.spigot.skill.leaderboard.ExperiencePeriod;
+import com.github.jhg023.spigot.skill.leaderboard.Leaderboard;
+import com.github.jhg023.spigot.skill.multiplier.Booster;
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabExecutor;
 import org.bukkit.entity.Player;
 
+import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -27,6 +35,31 @@ public final class SkillCommandHandler implements TabExecutor {
     private static final List<String> TAB_COMPLETE_SKILL_LIST = Arrays.stream(Skill.values())
         .map(Enum::name).map(String::toLowerCase).sorted().collect(Collectors.toUnmodifiableList());
 
+    /**
+     * The names of the {@link ExperiencePeriod periods} to display in the auto-complete box after a skill name.
+     */
+    private static final List<String> TAB_COMPLETE_PERIOD_LIST = Arrays.stream(ExperiencePeriod.values())
+        .map(Enum::name).map(String::toLowerCase).collect(Collectors.toUnmodifiableList());
+
+    /**
+     * The permission required to give and clear experience boosters.
+     */
+    private static final String BOOSTER_PERMISSION = "skill.booster";
+
+    /**
+     * The format used to display metric values.
+     */
+    private static final NumberFormat METRIC_FORMAT = NumberFormat.getInstance(Locale.US);
+
+    static {
+        METRIC_FORMAT.setMaximumFractionDigits(2);
+    }
+
+    /**
+     * The number of players shown on each page of {@code /top}.
+     */
+    private static final int TOP_PAGE_SIZE = 10;
+
     /**
      * An instance of the {@link SkillManager} class.
      */
@@ -61,11 +94,324 @@ public final class SkillCommandHandler implements TabExecutor {
 
                 manager.updateTracker((Player) sender, skill);
                 return true;
+            case "skillstats":
+                if (args.length > 1) {
+                    sender.sendMessage("Usage: /skillstats [prefix]");
+                    return true;
+                }
+
+                var prefix = args.length == 0 ? "" : args[0].toLowerCase(Locale.US);
+                var snapshot = manager.getMetrics().snapshot();
+
+                sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] Metrics" +
+                    (prefix.isEmpty() ? "" : " starting with &a" + prefix) + "&f:"));
+
+                snapshot.forEach((name, value) -> {
+                    if (name.startsWith(prefix)) {
+                        sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7" + name + ": &f" +
+                            METRIC_FORMAT.format(value)));
+                    }
+                });
+                return true;
+            case "top":
+                if (args.length < 1 || args.length > 3) {
+                    sender.sendMessage("Usage: /top [skill name] [page] [daily|weekly]");
+                    return true;
+                }
+
+                Skill topSkill;
+                int page = 1;
+                ExperiencePeriod period = null;
+
+                try {
+                    topSkill = Skill.valueOf(args[0].toUpperCase(Locale.US));
+                } catch (IllegalArgumentException e) {
+                    sender.sendMessage("You have specified an invalid skill name!");
+                    return true;
+                }
+
+                // The page and the period may be given in either order.
+                for (int i = 1; i < args.length; i++) {
+                    var parsed = parsePeriod(args[i]);
+
+                    if (parsed != null) {
+                        period = parsed;
+                        continue;
+                    }
+
+                    try {
+                        page = Integer.parseInt(args[i]);
+                    } catch (NumberFormatException e) {
+                        sender.sendMessage("You have specified an invalid page number or period!");
+                        return true;
+                    }
+                }
+
+                sendTop(sender, topSkill, page, period);
+                return true;
+            case "rank":
+                if (!(sender instanceof Player)) {
+                    sender.sendMessage("Only in-game players can use the /rank command!");
+                    return true;
+                }
+
+                if (args.length > 1) {
+                    sender.sendMessage("Usage: /rank [skill name]");
+                    return true;
+                }
+
+                if (args.length == 0) {
+                    for (var rankSkill : Skill.values()) {
+                        sendRank((Player) sender, rankSkill);
+                    }
+
+                    return true;
+                }
+
+                try {
+                    sendRank((Player) sender, Skill.valueOf(args[0].toUpperCase(Locale.US)));
+                } catch (IllegalArgumentException e) {
+                    sender.sendMessage("You have specified an invalid skill name!");
+                }
+
+                return true;
+            case "booster":
+                onBoosterCommand(sender, args);
+                return true;
+            case "skillreload":
+                if (args.length != 0) {
+                    sender.sendMessage("Usage: /skillreload");
+                    return true;
+                }
+
+                manager.reloadSkills(sender);
+                return true;
             default:
                 return false;
         }
     }
 
+    /**
+     * Handles {@code /booster}, which shows a {@link Player player}'s experience multipliers, and
+     * {@code /booster give} and {@code /booster clear}, which manage another player's boosters.
+     *
+     * @param sender the sender of the command.
+     * @param args   the arguments of the command.
+     */
+    private void onBoosterCommand(CommandSender sender, String[] args) {
+        if (args.length == 0) {
+            if (!(sender instanceof Player)) {
+                sender.sendMessage("Usage: /booster give|clear [player] ...");
+                return;
+            }
+
+            sendMultipliers((Player) sender);
+            return;
+        }
+
+        if (!sender.hasPermission(BOOSTER_PERMISSION)) {
+            sender.sendMessage("You do not have permission to manage experience boosters!");
+            return;
+        }
+
+        var subcommand = args[0].toLowerCase(Locale.US);
+
+        if (!(subcommand.equals("give") && (args.length == 4 || args.length == 5)) &&
+                !(subcommand.equals("clear") && args.length == 2)) {
+            sender.sendMessage("Usage: /booster give [player] [factor] [minutes] [skill name] or /booster clear " +
+                "[player]");
+            return;
+        }
+
+        var target = Bukkit.getPlayerExact(args[1]);
+
+        if (target == null) {
+            sender.sendMessage("The player " + args[1] + " is not online!");
+            return;
+        }
+
+        var multipliers = manager.getMultipliers();
+        long now = System.currentTimeMillis();
+
+        if (subcommand.equals("clear")) {
+            int cleared = multipliers.clearBoosters(target.getUniqueId(), now);
+
+            manager.saveBoosters();
+            sender.sendMessage("Cleared " + cleared + " boosters of " + target.getName() + ".");
+            return;
+        }
+
+        double factor;
+        long minutes;
+        Skill skill = null;
+
+        try {
+            factor = Double.parseDouble(args[2]);
+            minutes = Long.parseLong(args[3]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage("You have specified an invalid factor or number of minutes!");
+            return;
+        }
+
+        if (!(factor > 0D) || minutes < 1L) {
+            sender.sendMessage("The factor and the number of minutes must be positive!");
+            return;
+        }
+
+        if (args.length == 5) {
+            try {
+                skill = Skill.valueOf(args[4].toUpperCase(Locale.US));
+            } catch (IllegalArgumentException e) {
+                sender.sendMessage("You have specified an invalid skill name!");
+                return;
+            }
+        }
+
+        multipliers.addBooster(target.getUniqueId(), new Booster(factor, skill, now +
+            TimeUnit.MINUTES.toMillis(minutes)), now);
+        manager.saveBoosters();
+
+        var description = "a &a" + METRIC_FORMAT.format(factor) + "x &f" + (skill == null ? "" : skill.getDisplay() +
+            " ") + "experience booster for &a" + minutes + " &fminutes";
+
+        sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&fGave " + target.getName() + " " +
+            description + "."));
+        target.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] You have received " +
+            description + "!"));
+    }
+
+    /**
+     * Sends the specified {@link Player player}'s experience multiplier in every {@link Skill skill} whose multiplier
+     * is not {@code 1}, and each of their boosters, to them.
+     *
+     * @param player the player.
+     */
+    private void sendMultipliers(Player player) {
+        var multipliers = manager.getMultipliers();
+        var open = multipliers.getOpenWindows();
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] Experience multipliers" +
+            (open.isEmpty() ? ":" : " (&a" + String.join("&f, &a", open) + "&f):")));
+
+        var boosted = false;
+
+        for (var skill : Skill.values()) {
+            double factor = multipliers.getFactor(player.getUniqueId(), skill);
+
+            if (factor != 1D) {
+                boosted = true;
+                player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f" + skill.getDisplay() + " - &a" +
+                    METRIC_FORMAT.format(factor) + "x"));
+            }
+        }
+
+        if (!boosted) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7No multipliers are active."));
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (var booster : multipliers.getBoosters(player.getUniqueId())) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&7Booster: &a" +
+                METRIC_FORMAT.format(booster.getFactor()) + "x &7" + (booster.getSkill() == null ? "all skills" :
+                booster.getSkill().getDisplay()) + ", &a" + Math.max(1L, TimeUnit.MILLISECONDS.toMinutes(
+                booster.getExpiresAt() - now)) + " &7minutes left"));
+        }
+    }
+
+    /**
+     * Sends the specified {@link Player player}'s rank and percentile in the specified {@link Skill skill} to them.
+     *
+     * @param player the player.
+     * @param skill  the skill.
+     */
+    private void sendRank(Player player, Skill skill) {
+        var standing = manager.getLeaderboards().get(skill).getStanding(player.getUniqueId());
+
+        if (standing == null) {
+            player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f" + skill.getDisplay() +
+                " - &7Not ranked yet"));
+            return;
+        }
+
+        player.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f" + skill.getDisplay() + " - Rank &a#" +
+            METRIC_FORMAT.format(standing.getRank()) + " &f/ &a" + METRIC_FORMAT.format(standing.getTotal()) +
+            " &f- Better than &a" + METRIC_FORMAT.format(standing.getPercentile()) + "% &fof players"));
+    }
+
+    /**
+     * Parses the name of an {@link ExperiencePeriod period}, ignoring its case.
+     *
+     * @param name the name.
+     * @return the period, or {@code null} if there is no period with the specified name.
+     */
+    private static ExperiencePeriod parsePeriod(String name) {
+        for (var period : ExperiencePeriod.values()) {
+            if (period.name().equalsIgnoreCase(name)) {
+                return period;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends the specified page of the specified {@link Skill skill}'s leaderboard to the specified sender, followed by
+     * the sender's own rank if they are a {@link Player player}.
+     *
+     * @param sender the sender.
+     * @param skill  the skill.
+     * @param page   the page, starting at {@code 1}.
+     * @param period the period whose gains are ranked, or {@code null} to rank all-time experience.
+     */
+    private void sendTop(CommandSender sender, Skill skill, int page, ExperiencePeriod period) {
+        var leaderboards = manager.getLeaderboards();
+        var periodLeaderboards = manager.getPeriodLeaderboards();
+        Leaderboard leaderboard;
+
+        if (period == null) {
+            leaderboard = leaderboards.get(skill);
+        } else if (periodLeaderboards != null) {
+            leaderboard = periodLeaderboards.get(period, skill);
+        } else {
+            sender.sendMessage("Daily and weekly leaderboards are disabled!");
+            return;
+        }
+
+        int pages = Math.max(1, (leaderboard.size() + TOP_PAGE_SIZE - 1) / TOP_PAGE_SIZE);
+
+        if (page < 1 || page > pages) {
+            sender.sendMessage("You have specified an invalid page number! There " + (pages == 1 ? "is 1 page." :
+                "are " + pages + " pages."));
+            return;
+        }
+
+        var title = period == null ? "Top " + skill.getDisplay() + " players" : "Top " + skill.getDisplay() +
+            " players " + (period == ExperiencePeriod.DAILY ? "today" : "this week");
+
+        sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&f[&aSkill&f] " + title + " (page &a" + page +
+            " &f/ &a" + pages + "&f)" + (period != null || leaderboards.isLoaded() ? ":" : ", still loading:")));
+
+        for (var entry : leaderboard.getRange((page - 1) * TOP_PAGE_SIZE + 1, TOP_PAGE_SIZE)) {
+            var name = Bukkit.getOfflinePlayer(entry.getUniqueId()).getName();
+            var player = "&7#" + entry.getRank() + " &f" + (name == null ? entry.getUniqueId().toString() : name);
+
+            // A period's gains are not a total, so they do not correspond to a level.
+            sender.sendMessage(ChatColor.translateAlternateColorCodes('&', period != null ? player +
+                " &7- Gained &a" + METRIC_FORMAT.format(entry.getExperience()) + " &7experience" : player +
+                " &7- Level &a" + SkillUtility.getLevelForExperience(entry.getExperience()) + " &7- Experience &a" +
+                METRIC_FORMAT.format(entry.getExperience())));
+        }
+
+        if (sender instanceof Player) {
+            int rank = leaderboard.getRank(((Player) sender).getUniqueId());
+
+            if (rank > 0) {
+                sender.sendMessage(ChatColor.translateAlternateColorCodes('&', "&fYour rank: &a#" + rank));
+            }
+        }
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         switch (alias) {
@@ -74,6 +420,64 @@ public final class SkillCommandHandler implements TabExecutor {
                     return TAB_COMPLETE_SKILL_LIST;
                 }
 
+                return TAB_COMPLETE_SKILL_LIST.stream()
+                    .filter(skill -> skill.startsWith(args[0].toLowerCase(Locale.US)))
+                    .collect(Collectors.toUnmodifiableList());
+            case "skillstats":
+                if (args.length != 1) {
+                    return List.of();
+                }
+
+                // Suggest the groups of metrics, i.e. "database" and "experience".
+                return manager.getMetrics().snapshot().keySet().stream()
+                    .map(name -> name.substring(0, name.indexOf('.') + 1))
+                    .distinct()
+                    .filter(group -> group.startsWith(args[0].toLowerCase(Locale.US)))
+                    .collect(Collectors.toUnmodifiableList());
+            case "top":
+                if (args.length == 2 || args.length == 3) {
+                    return TAB_COMPLETE_PERIOD_LIST.stream()
+                        .filter(period -> period.startsWith(args[args.length - 1].toLowerCase(Locale.US)))
+                        .collect(Collectors.toUnmodifiableList());
+                }
+
+                if (args.length != 1) {
+                    return List.of();
+                }
+
+                return TAB_COMPLETE_SKILL_LIST.stream()
+                    .filter(skill -> skill.startsWith(args[0].toLowerCase(Locale.US)))
+                    .collect(Collectors.toUnmodifiableList());
+            case "booster":
+                if (!sender.hasPermission(BOOSTER_PERMISSION)) {
+                    return List.of();
+                }
+
+                if (args.length == 1) {
+                    return List.of("clear", "give").stream()
+                        .filter(subcommand -> subcommand.startsWith(args[0].toLowerCase(Locale.US)))
+                        .collect(Collectors.toUnmodifiableList());
+                }
+
+                if (args.length == 2) {
+                    return Bukkit.getOnlinePlayers().stream()
+                        .map(Player::getName)
+                        .filter(name -> name.toLowerCase(Locale.US).startsWith(args[1].toLowerCase(Locale.US)))
+                        .collect(Collectors.toUnmodifiableList());
+                }
+
+                if (args.length != 5 || !args[0].equalsIgnoreCase("give")) {
+                    return List.of();
+                }
+
+                return TAB_COMPLETE_SKILL_LIST.stream()
+                    .filter(skill -> skill.startsWith(args[4].toLowerCase(Locale.US)))
+                    .collect(Collectors.toUnmodifiableList());
+            case "rank":
+                if (args.length != 1) {
+                    return List.of();
+                }
+
                 return TAB_COMPLETE_SKILL_LIST.stream()
                     .filter(skill -> skill.startsWith(args[0].toLowerCase(Locale.US)))
                     .collect(Collectors.toUnmodifiableList());
@@ -0,0 +1,248 @@
+package com.github.jhg023.spigot.skill.event;
+
+import com.github.jhg023.spigot.skill.SkillManager;
+import com.github.jhg023.spigot.skill.material.GatheringSkill;
+import com.github.jhg023.spigot.skill.material.MaterialTable;
+import com.github.jhg023.spigot.skill.utility.SkillUtility;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockDamageEvent;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The single listener that handles every block that is damaged or broken on behalf of every registered
+ * {@link GatheringSkill gathering skill}.
+ * <br><br>
+ * The blocks and tools of every gathering skill are merged into one table of routes, indexed by
+ * {@link Material#ordinal()}, which maps each material to the skill that it is a block of and the skill that it is a
+ * tool of. Each event therefore costs two array reads to classify, and is only passed to the skill that cares about
+ * it, however many gathering skills are registered. The routes are rebuilt whenever a skill is registered, and are
+ * replaced as a whole, so that they can be read without locking.
+ *
+ * @author Jacob Glickman
+ * @version February 8, 2020
+ */
+public final class BlockInteractionDispatcher implements Listener {
+
+    /**
+     * The number of {@link Material materials}, which is the length of every array of routes.
+     */
+    private static final int MATERIAL_COUNT = Material.values().length;
+
+    private final SkillManager manager;
+
+    /**
+     * The registered gathering skills, keyed by the name of the plugin that registered them.
+     */
+    private final Map<String, GatheringSkill> skills = new TreeMap<>();
+
+    /**
+     * The current routes, which are replaced as a whole whenever a skill is registered.
+     */
+    private volatile Routes routes = new Routes(new GatheringSkill[MATERIAL_COUNT],
+        new GatheringSkill[MATERIAL_COUNT]);
+
+    public BlockInteractionDispatcher(SkillManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Registers the specified gathering skill on behalf of the specified plugin, replacing the skill that the plugin
+     * registered previously, if any.
+     * <br><br>
+     * This method may be invoked from any thread.
+     *
+     * @param name  the name of the plugin.
+     * @param skill the gathering skill.
+     * @throws IllegalArgumentException if one of the skill's blocks or tools is already a block or tool of a skill that
+     *                                  another plugin registered, in which case nothing has been registered.
+     */
+    public synchronized void register(String name, GatheringSkill skill) {
+        var updated = new TreeMap<>(skills);
+        updated.put(name, skill);
+
+        routes = Routes.build(updated);
+        skills.put(name, skill);
+    }
+
+    @EventHandler
+    public void onPlayerDamageBlock(BlockDamageEvent event) {
+        var current = routes;
+        var player = event.getPlayer();
+        var block = event.getBlock().getType();
+        var blockSkill = current.blocks[block.ordinal()];
+
+        if (blockSkill != null && doesNotMeetBlockRequirement(player, blockSkill, block)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        var tool = player.getInventory().getItemInMainHand().getType();
+        var toolSkill = current.tools[tool.ordinal()];
+
+        if (toolSkill != null && doesNotMeetToolRequirement(player, toolSkill, tool)) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerBreakBlock(BlockBreakEvent event) {
+        var current = routes;
+        var player = event.getPlayer();
+        var toolItem = player.getInventory().getItemInMainHand();
+        var tool = toolItem.getType();
+        var skill = current.tools[tool.ordinal()];
+
+        // If the player isn't wielding a tool of any gathering skill, then we should not give them experience.
+        if (skill == null) {
+            return;
+        }
+
+        // The player could have started gathering this block with something other than this tool, and switched to a
+        // tool that they don't have the required level to use. If that is the case, we need to verify that they have
+        // the required level to use this tool and, if not, cancel the event.
+        if (doesNotMeetToolRequirement(player, skill, tool)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        // If the player's tool is enchanted with Silk Touch, then we may not give them experience.
+        if (!skill.isSilkTouchRewarded() && toolItem.getEnchantments().containsKey(Enchantment.SILK_TOUCH)) {
+            return;
+        }
+
+        var block = event.getBlock().getType();
+
+        // The player broke a block with this skill's tool, but the block was not one this skill gives experience for.
+        if (current.blocks[block.ordinal()] != skill) {
+            return;
+        }
+
+        if (doesNotMeetBlockRequirement(player, skill, block)) {
+            event.setCancelled(true);
+            return;
+        }
+
+        manager.createExperienceOrb(player, event.getBlock().getLocation(), skill.getSkill(),
+            skill.getBlocks().getExperience(block));
+    }
+
+    /**
+     * Determines whether or not the specified player is below the level required to gather the specified block, and
+     * tells them so if they are.
+     *
+     * @param player the player.
+     * @param skill  the skill that the block is a block of.
+     * @param block  the block.
+     * @return {@code true} if the player is <strong>NOT</strong> allowed to gather the block, otherwise {@code false}.
+     */
+    private boolean doesNotMeetBlockRequirement(Player player, GatheringSkill skill, Material block) {
+        var blocks = skill.getBlocks();
+
+        return manager.doesNotMeetLevelRequirement(player, skill.getSkill(), blocks.getRequiredLevel(block),
+            level -> skill.getBlockAction(blocks.getName(block)));
+    }
+
+    /**
+     * Determines whether or not the specified player is below the level required to use the specified tool, and tells
+     * them so if they are.
+     *
+     * @param player the player.
+     * @param skill  the skill that the tool is a tool of.
+     * @param tool   the tool.
+     * @return {@code true} if the player is <strong>NOT</strong> allowed to use the tool, otherwise {@code false}.
+     */
+    private boolean doesNotMeetToolRequirement(Player player, GatheringSkill skill, Material tool) {
+        var tools = skill.getTools();
+
+        return manager.doesNotMeetLevelRequirement(player, skill.getSkill(), tools.getRequiredLevel(tool),
+            (int level) -> {
+                String formattedName = tools.getName(tool);
+                return "use " + SkillUtility.getIndefiniteArticle(formattedName) + " &a" + formattedName + "&f!";
+            });
+    }
+
+    /**
+     * An immutable table of the gathering skill that each material is a block of, and that each material is a tool of.
+     */
+    private static final class Routes {
+
+        /**
+         * The skill that each material is a block of, indexed by {@link Material#ordinal()}, or {@code null} if it is
+         * not a block of any skill.
+         */
+        private final GatheringSkill[] blocks;
+
+        /**
+         * The skill that each material is a tool of, indexed by {@link Material#ordinal()}, or {@code null} if it is
+         * not a tool of any skill.
+         */
+        private final GatheringSkill[] tools;
+
+        private Routes(GatheringSkill[] blocks, GatheringSkill[] tools) {
+            this.blocks = blocks;
+            this.tools = tools;
+        }
+
+        /**
+         * Builds the routes of the specified gathering skills.
+         *
+         * @param skills the skills, keyed by the name of the plugin that registered them.
+         * @return the routes.
+         * @throws IllegalArgumentException if a material is a block, or a tool, of more than one skill.
+         */
+        private static Routes build(Map<String, GatheringSkill> skills) {
+            var blocks = new GatheringSkill[MATERIAL_COUNT];
+            var tools = new GatheringSkill[MATERIAL_COUNT];
+            var blockOwners = new String[MATERIAL_COUNT];
+            var toolOwners = new String[MATERIAL_COUNT];
+
+            skills.forEach((name, skill) -> {
+                route(name, skill, skill.getBlocks(), blocks, blockOwners, "block");
+                route(name, skill, skill.getTools(), tools, toolOwners, "tool");
+            });
+
+            return new Routes(blocks, tools);
+        }
+
+        /**
+         * Routes every material in the specified table to the specified skill.
+         *
+         * @param name   the name of the plugin that registered the skill.
+         * @param skill  the skill.
+         * @param table  the table.
+         * @param routes the skill that each material is routed to.
+         * @param owners the name of the plugin that each material is routed on behalf of.
+         * @param kind   what the materials in the table are, for the message of the exception.
+         * @throws IllegalArgumentException if a material in the table is already routed to another skill.
+         */
+        private static void route(String name, GatheringSkill skill, MaterialTable table, GatheringSkill[] routes,
+                                  String[] owners, String kind) {
+            if (table.size() == 0) {
+                return;
+            }
+
+            for (var material : Material.values()) {
+                if (!table.contains(material)) {
+                    continue;
+                }
+
+                int ordinal = material.ordinal();
+
+                if (owners[ordinal] != null) {
+                    throw new IllegalArgumentException(material + " is a " + kind + " of both " + owners[ordinal] +
+                        " and " + name + "!");
+                }
+
+                routes[ordinal] = skill;
+                owners[ordinal] = name;
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.jhg023.spigot.skill.leaderboard;
+
+/**
+ * The periods over which experience gains are ranked, in addition to all-time experience.
+ * <br><br>
+ * The ordinal of each period is stored in the {@code period} column of the period table, so new periods must only ever
+ * be appended.
+ *
+ * @author Jacob Glickman
+ * @version February 5, 2020
+ */
+public enum ExperiencePeriod {
+
+    /**
+     * A single day, starting at the configured rollover time.
+     */
+    DAILY,
+
+    /**
+     * A single week, starting at the configured rollover time of the configured first day of the week.
+     */
+    WEEKLY
+}
@@ -0,0 +1,481 @@
+package com.github.jhg023.spigot.skill.leaderboard;
+
+import com.github.jhg023.spigot.skill.Skill;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * The players of a single {@link Skill skill}, ranked by their experience.
+ * <br><br>
+ * Players are kept in an indexable skip list, ordered by descending experience and then by unique identifier, in which
+ * every forward link also records how many players it skips. Updating a player's experience, finding a player's rank,
+ * and finding the player at a rank therefore each take {@code O(log n)} time, and a page of consecutive ranks takes
+ * {@code O(log n + page size)} time, without ever touching the database.
+ * <br><br>
+ * As experience is never taken away, an update that would lower a player's experience is ignored. This lets the
+ * leaderboard be built from the database while experience is already being gained: whichever of the stored and the
+ * live experience is greater is kept.
+ * <br><br>
+ * Every method of this class is {@code synchronized}, as the leaderboard is built asynchronously.
+ *
+ * @author Jacob Glickman
+ * @version February 4, 2020
+ */
+public final class Leaderboard {
+
+    /**
+     * The maximum number of levels of the skip list, which comfortably indexes billions of players.
+     */
+    private static final int MAX_LEVEL = 32;
+
+    /**
+     * The skill whose players are ranked.
+     */
+    private final Skill skill;
+
+    /**
+     * The node of each ranked player.
+     */
+    private final Map<UUID, Node> nodes = new HashMap<>();
+
+    /**
+     * The sentinel that precedes the first player at every level.
+     */
+    private final Node head = new Node(null, Integer.MAX_VALUE, MAX_LEVEL);
+
+    /**
+     * Chooses the level of each new node.
+     */
+    private final SplittableRandom random = new SplittableRandom();
+
+    /**
+     * The number of levels currently in use.
+     */
+    private int level = 1;
+
+    /**
+     * The number of nodes in the skip list.
+     */
+    private int size;
+
+    /**
+     * Creates a new, empty {@link Leaderboard}.
+     *
+     * @param skill the skill whose players are ranked.
+     */
+    public Leaderboard(Skill skill) {
+        this.skill = skill;
+    }
+
+    /**
+     * Sets the specified player's experience, unless the leaderboard already holds a greater amount for them.
+     *
+     * @param uuid       the unique identifier of the player.
+     * @param experience the player's total experience.
+     */
+    public synchronized void update(UUID uuid, int experience) {
+        var node = nodes.get(uuid);
+
+        if (node == null) {
+            nodes.put(uuid, insert(uuid, experience));
+            return;
+        }
+
+        if (experience <= node.experience) {
+            return;
+        }
+
+        // Most updates do not overtake the player ranked above, in which case the node keeps its position.
+        var previous = node.previous;
+
+        if (previous == head || precedes(previous.experience, previous.uuid, experience, uuid)) {
+            node.experience = experience;
+            return;
+        }
+
+        delete(node);
+        nodes.put(uuid, insert(uuid, experience));
+    }
+
+    /**
+     * Adds the specified amount of experience to the specified player's experience, ranking them if they are not ranked
+     * yet.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param amount the amount of experience, which must be positive.
+     */
+    public synchronized void add(UUID uuid, int amount) {
+        var node = nodes.get(uuid);
+        update(uuid, node == null ? amount : node.experience + amount);
+    }
+
+    /**
+     * Gets the specified player's rank.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the rank, starting at {@code 1}, or {@code 0} if the player is not ranked.
+     */
+    public synchronized int getRank(UUID uuid) {
+        var node = nodes.get(uuid);
+
+        if (node == null) {
+            return 0;
+        }
+
+        int rank = 0;
+        var current = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && !precedes(node.experience, node.uuid, current.next[i].experience,
+                    current.next[i].uuid)) {
+                rank += current.width[i];
+                current = current.next[i];
+            }
+
+            if (current == node) {
+                return rank;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Gets the specified player's standing among every ranked player.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the standing, or {@code null} if the player is not ranked.
+     */
+    public synchronized Standing getStanding(UUID uuid) {
+        var node = nodes.get(uuid);
+        return node == null ? null : new Standing(node.experience, getRank(uuid), size);
+    }
+
+    /**
+     * Gets the players at consecutive ranks.
+     *
+     * @param fromRank the first rank, starting at {@code 1}.
+     * @param count    the maximum number of players.
+     * @return the players, in order of rank, which is empty if {@code fromRank} is greater than the number of players.
+     */
+    public synchronized List<Entry> getRange(int fromRank, int count) {
+        if (fromRank < 1 || count < 1 || fromRank > size) {
+            return List.of();
+        }
+
+        int traversed = 0;
+        var current = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && traversed + current.width[i] <= fromRank) {
+                traversed += current.width[i];
+                current = current.next[i];
+            }
+
+            if (traversed == fromRank) {
+                break;
+            }
+        }
+
+        var entries = new ArrayList<Entry>(Math.min(count, size - fromRank + 1));
+
+        for (int rank = fromRank; current != null && entries.size() < count; current = current.next[0], rank++) {
+            entries.add(new Entry(current.uuid, current.experience, rank));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Gets the number of ranked players.
+     *
+     * @return the number of players.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Gets the skill whose players are ranked.
+     *
+     * @return the skill.
+     */
+    public Skill getSkill() {
+        return skill;
+    }
+
+    /**
+     * Inserts a node for the specified player.
+     *
+     * @param uuid       the unique identifier of the player.
+     * @param experience the player's experience.
+     * @return the node.
+     */
+    private Node insert(UUID uuid, int experience) {
+        var update = new Node[MAX_LEVEL];
+        var rank = new int[MAX_LEVEL];
+        var current = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+
+            while (current.next[i] != null && precedes(current.next[i].experience, current.next[i].uuid, experience,
+                    uuid)) {
+                rank[i] += current.width[i];
+                current = current.next[i];
+            }
+
+            update[i] = current;
+        }
+
+        int nodeLevel = randomLevel();
+
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.width[i] = size;
+            }
+
+            level = nodeLevel;
+        }
+
+        var node = new Node(uuid, experience, nodeLevel);
+
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.width[i] = update[i].width[i] - (rank[0] - rank[i]);
+            update[i].width[i] = rank[0] - rank[i] + 1;
+        }
+
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].width[i]++;
+        }
+
+        node.previous = update[0];
+
+        if (node.next[0] != null) {
+            node.next[0].previous = node;
+        }
+
+        size++;
+        return node;
+    }
+
+    /**
+     * Unlinks the specified node, which must be in the skip list, at every level.
+     *
+     * @param node the node.
+     */
+    private void delete(Node node) {
+        var current = head;
+
+        for (int i = level - 1; i >= 0; i--) {
+            while (current.next[i] != null && current.next[i] != node && precedes(current.next[i].experience,
+                    current.next[i].uuid, node.experience, node.uuid)) {
+                current = current.next[i];
+            }
+
+            if (current.next[i] == node) {
+                current.width[i] += node.width[i] - 1;
+                current.next[i] = node.next[i];
+            } else {
+                current.width[i]--;
+            }
+        }
+
+        if (node.next[0] != null) {
+            node.next[0].previous = node.previous;
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+
+        size--;
+    }
+
+    /**
+     * Chooses the level of a new node, where each level is a quarter as likely as the one below it.
+     *
+     * @return the level, from {@code 1} to {@link #MAX_LEVEL}.
+     */
+    private int randomLevel() {
+        // Each pair of trailing zero bits, which occurs with a probability of one quarter, adds a level.
+        return Math.min(MAX_LEVEL, 1 + Integer.numberOfTrailingZeros(random.nextInt()) / 2);
+    }
+
+    /**
+     * Determines whether or not the first player is ranked above the second.
+     *
+     * @param experience      the experience of the first player.
+     * @param uuid            the unique identifier of the first player.
+     * @param otherExperience the experience of the second player.
+     * @param otherUuid       the unique identifier of the second player.
+     * @return {@code true} if the first player is ranked above the second, otherwise {@code false}.
+     */
+    private static boolean precedes(int experience, UUID uuid, int otherExperience, UUID otherUuid) {
+        return experience != otherExperience ? experience > otherExperience : uuid.compareTo(otherUuid) < 0;
+    }
+
+    /**
+     * A node of the skip list, which holds a single player.
+     */
+    private static final class Node {
+
+        /**
+         * The unique identifier of the player.
+         */
+        private final UUID uuid;
+
+        /**
+         * The player's experience.
+         */
+        private int experience;
+
+        /**
+         * The next node at each level of this node.
+         */
+        private final Node[] next;
+
+        /**
+         * The number of players that each forward link skips, including the node it leads to.
+         */
+        private final int[] width;
+
+        /**
+         * The previous node at the lowest level.
+         */
+        private Node previous;
+
+        private Node(UUID uuid, int experience, int level) {
+            this.uuid = uuid;
+            this.experience = experience;
+            this.next = new Node[level];
+            this.width = new int[level];
+        }
+    }
+
+    /**
+     * A player's standing among every player ranked on a {@link Leaderboard}.
+     */
+    public static final class Standing {
+
+        /**
+         * The player's experience.
+         */
+        private final int experience;
+
+        /**
+         * The player's rank, starting at {@code 1}.
+         */
+        private final int rank;
+
+        /**
+         * The number of ranked players.
+         */
+        private final int total;
+
+        private Standing(int experience, int rank, int total) {
+            this.experience = experience;
+            this.rank = rank;
+            this.total = total;
+        }
+
+        /**
+         * Gets the player's experience.
+         *
+         * @return the experience.
+         */
+        public int getExperience() {
+            return experience;
+        }
+
+        /**
+         * Gets the player's rank.
+         *
+         * @return the rank, starting at {@code 1}.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        /**
+         * Gets the number of ranked players.
+         *
+         * @return the number of players.
+         */
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Gets the percentage of ranked players that the player outranks.
+         *
+         * @return the percentile, from {@code 0} to {@code 100}.
+         */
+        public double getPercentile() {
+            return 100D * (total - rank) / total;
+        }
+    }
+
+    /**
+     * A player's position on a {@link Leaderboard}.
+     */
+    public static final class Entry {
+
+        /**
+         * The unique identifier of the player.
+         */
+        private final UUID uuid;
+
+        /**
+         * The player's experience.
+         */
+        private final int experience;
+
+        /**
+         * The player's rank, starting at {@code 1}.
+         */
+        private final int rank;
+
+        private Entry(UUID uuid, int experience, int rank) {
+            this.uuid = uuid;
+            this.experience = experience;
+            this.rank = rank;
+        }
+
+        /**
+         * Gets the unique identifier of the player.
+         *
+         * @return the unique identifier.
+         */
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        /**
+         * Gets the player's experience.
+         *
+         * @return the experience.
+         */
+        public int getExperience() {
+            return experience;
+        }
+
+        /**
+         * Gets the player's rank.
+         *
+         * @return the rank, starting at {@code 1}.
+         */
+        public int getRank() {
+            return rank;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.jhg023.spigot.skill.leaderboard;
+
+import com.github.jhg023.spigot.skill.Skill;
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link Leaderboard leaderboards} of every {@link Skill skill}.
+ * <br><br>
+ * The leaderboards are built once, when the plugin starts, by streaming every row of the skill table, and are then kept
+ * up to date with every experience grant. Players without any experience in a skill are not ranked in it.
+ *
+ * @author Jacob Glickman
+ * @version February 4, 2020
+ */
+public final class Leaderboards {
+
+    /**
+     * The number of rows fetched from the database at a time while the leaderboards are being built.
+     */
+    private static final int FETCH_SIZE = 1_000;
+
+    /**
+     * The statement that selects every player's experience.
+     */
+    private static final String SELECT_SQL = "SELECT `uuid`, " + Arrays.stream(Skill.values())
+        .map(skill -> '`' + skill.getDatabaseColumnName() + '`')
+        .collect(Collectors.joining(", ")) + " FROM `survival_player_skill_data`;";
+
+    /**
+     * The leaderboard of each skill, indexed by {@link Skill#ordinal()}.
+     */
+    private final Leaderboard[] leaderboards = Arrays.stream(Skill.values())
+        .map(Leaderboard::new)
+        .toArray(Leaderboard[]::new);
+
+    /**
+     * Whether or not the leaderboards have been built from the database.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Builds the leaderboards from every row of the skill table, streaming the rows rather than holding them all in
+     * memory at once.
+     * <br><br>
+     * Experience may be granted while this method runs; each player keeps the greater of their stored and granted
+     * experience.
+     *
+     * @param connection a connection to the database.
+     * @return the number of rows that were read.
+     * @throws SQLException if a database error occurs.
+     */
+    public int load(Connection connection) throws SQLException {
+        int rows = 0;
+        var skills = Skill.values();
+
+        try (var statement = connection.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(FETCH_SIZE);
+
+            try (var resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    var uuid = UuidUtility.fromBytes(resultSet.getBytes(1));
+
+                    for (var skill : skills) {
+                        int experience = resultSet.getInt(skill.ordinal() + 2);
+
+                        if (experience > 0) {
+                            leaderboards[skill.ordinal()].update(uuid, experience);
+                        }
+                    }
+
+                    rows++;
+                }
+            }
+        }
+
+        loaded = true;
+        return rows;
+    }
+
+    /**
+     * Sets the specified player's experience in the specified skill.
+     *
+     * @param uuid       the unique identifier of the player.
+     * @param skill      the skill.
+     * @param experience the player's total experience in the skill.
+     */
+    public void update(UUID uuid, Skill skill, int experience) {
+        leaderboards[skill.ordinal()].update(uuid, experience);
+    }
+
+    /**
+     * Gets the leaderboard of the specified skill.
+     *
+     * @param skill the skill.
+     * @return the leaderboard.
+     */
+    public Leaderboard get(Skill skill) {
+        return leaderboards[skill.ordinal()];
+    }
+
+    /**
+     * Determines whether or not the leaderboards have been built from the database; until they have, they only rank
+     * players who have gained experience since the plugin started.
+     *
+     * @return {@code true} if the leaderboards have been built, otherwise {@code false}.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.jhg023.spigot.skill.leaderboard;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Determines which bucket of each {@link ExperiencePeriod period} an instant falls in.
+ * <br><br>
+ * Each bucket is identified by the epoch day of the date on which it starts, which fits in the {@code period_start}
+ * column of the period table and sorts chronologically. A day starts at the rollover time in the configured time zone,
+ * and a week starts at the rollover time of the configured first day of the week.
+ *
+ * @author Jacob Glickman
+ * @version February 5, 2020
+ */
+public final class PeriodClock {
+
+    /**
+     * The time zone in which periods roll over.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The time of day at which periods roll over.
+     */
+    private final LocalTime rolloverTime;
+
+    /**
+     * The day on which weekly periods start.
+     */
+    private final DayOfWeek weekStart;
+
+    /**
+     * Creates a new {@link PeriodClock}.
+     *
+     * @param zone         the time zone in which periods roll over.
+     * @param rolloverTime the time of day at which periods roll over.
+     * @param weekStart    the day on which weekly periods start.
+     */
+    public PeriodClock(ZoneId zone, LocalTime rolloverTime, DayOfWeek weekStart) {
+        this.zone = zone;
+        this.rolloverTime = rolloverTime;
+        this.weekStart = weekStart;
+    }
+
+    /**
+     * Gets the bucket of the specified period that the specified instant falls in.
+     *
+     * @param period  the period.
+     * @param instant the instant.
+     * @return the epoch day of the date on which the bucket starts.
+     */
+    public int getStart(ExperiencePeriod period, Instant instant) {
+        // Shifting the instant back by the rollover time makes every period start at midnight.
+        var date = instant.atZone(zone).minusNanos(rolloverTime.toNanoOfDay()).toLocalDate();
+
+        switch (period) {
+            case DAILY:
+                return (int) date.toEpochDay();
+            case WEEKLY:
+                return (int) date.with(TemporalAdjusters.previousOrSame(weekStart)).toEpochDay();
+            default:
+                throw new IllegalArgumentException("Unknown period: " + period);
+        }
+    }
+}
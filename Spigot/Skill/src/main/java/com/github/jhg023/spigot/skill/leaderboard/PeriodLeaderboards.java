@@ -0,0 +1,251 @@
+package com.github.jhg023.spigot.skill.leaderboard;
+
+import com.github.jhg023.spigot.skill.Skill;
+import com.github.jhg023.spigot.skill.utility.UuidUtility;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link Leaderboard leaderboards} of the experience that players have gained in every {@link Skill skill} during
+ * the current bucket of each {@link ExperiencePeriod period}.
+ * <br><br>
+ * Gains are persisted by the {@code ExperiencePublisher}, which adds each flushed delta to the player's row of the
+ * current bucket of every period, in the {@code survival_player_skill_period} table. The leaderboards of the current
+ * buckets are built from that table when the plugin starts, and are then kept up to date with every experience grant,
+ * so a period's leaderboard never requires an aggregate query. When a bucket ends, its leaderboards are replaced by
+ * empty ones; its rows are kept until they are {@link #prune(Connection, int) pruned}.
+ *
+ * @author Jacob Glickman
+ * @version February 5, 2020
+ */
+public final class PeriodLeaderboards {
+
+    /**
+     * The name of the table that stores every player's gains in every bucket of every period.
+     */
+    private static final String TABLE = "`survival_player_skill_period`";
+
+    /**
+     * The number of rows fetched from the database at a time while the leaderboards are being built.
+     */
+    private static final int FETCH_SIZE = 1_000;
+
+    /**
+     * A cached copy of {@link ExperiencePeriod#values()}.
+     */
+    private static final ExperiencePeriod[] PERIODS = ExperiencePeriod.values();
+
+    /**
+     * The statement that selects every player's gains in a single bucket of a single period.
+     */
+    private static final String SELECT_SQL = "SELECT `uuid`, " + Arrays.stream(Skill.values())
+        .map(skill -> '`' + skill.getDatabaseColumnName() + '`')
+        .collect(Collectors.joining(", ")) + " FROM " + TABLE + " WHERE `period` = ? AND `period_start` = ?;";
+
+    /**
+     * The statement that deletes the buckets of a single period that started before a given epoch day.
+     */
+    private static final String PRUNE_SQL = "DELETE FROM " + TABLE + " WHERE `period` = ? AND `period_start` < ?;";
+
+    /**
+     * Determines which bucket of each period an instant falls in.
+     */
+    private final PeriodClock clock;
+
+    /**
+     * The current bucket of each period, indexed by {@link ExperiencePeriod#ordinal()}, which is replaced as a whole
+     * whenever a bucket ends.
+     */
+    private volatile Bucket[] buckets;
+
+    /**
+     * Creates a new {@link PeriodLeaderboards} with empty leaderboards for the buckets that the specified instant falls
+     * in.
+     *
+     * @param clock the clock that determines which bucket of each period an instant falls in.
+     * @param now   the current instant.
+     */
+    public PeriodLeaderboards(PeriodClock clock, Instant now) {
+        this.clock = clock;
+        this.buckets = Arrays.stream(PERIODS)
+            .map(period -> new Bucket(clock.getStart(period, now)))
+            .toArray(Bucket[]::new);
+    }
+
+    /**
+     * Adds the gains that have been persisted for the current bucket of every period to the leaderboards, streaming
+     * the rows rather than holding them all in memory at once.
+     * <br><br>
+     * As the stored gains are added to those in memory, this must be invoked before any experience that is granted
+     * after the plugin starts can be flushed.
+     *
+     * @param connection a connection to the database.
+     * @return the number of rows that were read.
+     * @throws SQLException if a database error occurs.
+     */
+    public int load(Connection connection) throws SQLException {
+        int rows = 0;
+        var skills = Skill.values();
+        var current = buckets;
+
+        try (var statement = connection.prepareStatement(SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(FETCH_SIZE);
+
+            for (var period : PERIODS) {
+                var bucket = current[period.ordinal()];
+
+                statement.setInt(1, period.ordinal());
+                statement.setInt(2, bucket.start);
+
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var uuid = UuidUtility.fromBytes(resultSet.getBytes(1));
+
+                        for (var skill : skills) {
+                            int experience = resultSet.getInt(skill.ordinal() + 2);
+
+                            if (experience > 0) {
+                                bucket.leaderboards[skill.ordinal()].add(uuid, experience);
+                            }
+                        }
+
+                        rows++;
+                    }
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Adds the specified amount of experience to the specified player's gains in the specified skill, in the current
+     * bucket of every period.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param skill  the skill.
+     * @param amount the amount of experience, which must be positive.
+     */
+    public void add(UUID uuid, Skill skill, int amount) {
+        for (var bucket : buckets) {
+            bucket.leaderboards[skill.ordinal()].add(uuid, amount);
+        }
+    }
+
+    /**
+     * Gets the leaderboard of the specified skill in the current bucket of the specified period.
+     *
+     * @param period the period.
+     * @param skill  the skill.
+     * @return the leaderboard.
+     */
+    public Leaderboard get(ExperiencePeriod period, Skill skill) {
+        return buckets[period.ordinal()].leaderboards[skill.ordinal()];
+    }
+
+    /**
+     * Gets the current bucket of the specified period, which is the bucket that flushed gains are added to.
+     *
+     * @param period the period.
+     * @return the epoch day of the date on which the bucket starts.
+     */
+    public int getStart(ExperiencePeriod period) {
+        return buckets[period.ordinal()].start;
+    }
+
+    /**
+     * Determines whether or not the current bucket of any period has ended by the specified instant.
+     *
+     * @param now the current instant.
+     * @return {@code true} if a bucket has ended, otherwise {@code false}.
+     */
+    public boolean isDue(Instant now) {
+        var current = buckets;
+
+        for (var period : PERIODS) {
+            if (clock.getStart(period, now) != current[period.ordinal()].start) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Replaces the current bucket of every period that has ended by the specified instant with an empty one.
+     *
+     * @param now the current instant.
+     * @return the periods whose buckets were replaced, which may be empty.
+     */
+    public synchronized List<ExperiencePeriod> rollOver(Instant now) {
+        var next = buckets.clone();
+        var rolled = new ArrayList<ExperiencePeriod>(PERIODS.length);
+
+        for (var period : PERIODS) {
+            int start = clock.getStart(period, now);
+
+            if (start != next[period.ordinal()].start) {
+                next[period.ordinal()] = new Bucket(start);
+                rolled.add(period);
+            }
+        }
+
+        buckets = next;
+        return rolled;
+    }
+
+    /**
+     * Deletes the rows of every bucket that started more than the specified number of days before the current bucket
+     * of its period, without committing them.
+     *
+     * @param connection    a connection to the database.
+     * @param retentionDays the number of days for which the rows of past buckets are kept.
+     * @return the number of rows that were deleted.
+     * @throws SQLException if a database error occurs.
+     */
+    public int prune(Connection connection, int retentionDays) throws SQLException {
+        int rows = 0;
+        var current = buckets;
+
+        try (var statement = connection.prepareStatement(PRUNE_SQL)) {
+            for (var period : PERIODS) {
+                statement.setInt(1, period.ordinal());
+                statement.setInt(2, current[period.ordinal()].start - retentionDays);
+                rows += statement.executeUpdate();
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * A single bucket of a period, and the leaderboard of every skill within it.
+     */
+    private static final class Bucket {
+
+        /**
+         * The epoch day of the date on which the bucket starts.
+         */
+        private final int start;
+
+        /**
+         * The leaderboard of each skill, indexed by {@link Skill#ordinal()}.
+         */
+        private final Leaderboard[] leaderboards = Arrays.stream(Skill.values())
+            .map(Leaderboard::new)
+            .toArray(Leaderboard[]::new);
+
+        private Bucket(int start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.jhg023.spigot.skill.material;
+
+import com.github.jhg023.spigot.skill.Skill;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A declaration of the blocks that a gathering {@link Skill skill}, such as Mining or Woodcutting, gives experience
+ * for, and of the tools that they are gathered with.
+ * <br><br>
+ * A skill plugin registers its declaration with
+ * {@link com.github.jhg023.spigot.skill.SkillManager#registerGatheringSkill(org.bukkit.plugin.Plugin, GatheringSkill)},
+ * after which the Skill plugin handles every block that is damaged or broken on its behalf:
+ * <ul>
+ *     <li>damaging one of the blocks, or any block with one of the tools, is cancelled if the player's level is below
+ *     the level required by the block or tool;</li>
+ *     <li>breaking one of the blocks with one of the tools rewards the block's experience.</li>
+ * </ul>
+ * A material may be a block of at most one skill, and a tool of at most one skill.
+ *
+ * @author Jacob Glickman
+ * @version February 8, 2020
+ */
+public final class GatheringSkill {
+
+    /**
+     * The skill that experience is rewarded in.
+     */
+    private final Skill skill;
+
+    /**
+     * The blocks, with the level required to gather them and the experience that they provide.
+     */
+    private final MaterialTable blocks;
+
+    /**
+     * The tools, with the level required to use them.
+     */
+    private final MaterialTable tools;
+
+    /**
+     * Supplies the text stating what a player can do once they reach a block's required level, given its name.
+     */
+    private final UnaryOperator<String> blockAction;
+
+    /**
+     * Whether or not a block broken with a tool enchanted with Silk Touch rewards experience.
+     */
+    private final boolean silkTouchRewarded;
+
+    /**
+     * Creates a new {@link GatheringSkill}.
+     *
+     * @param skill             the skill that experience is rewarded in.
+     * @param blocks            the blocks, with the level required to gather them and the experience that they provide.
+     * @param tools             the tools, with the level required to use them.
+     * @param blockAction       supplies the text stating what a player can do once they reach a block's required
+     *                          level, given its name (i.e. mine &amp;aDiamond Ore&amp;f!).
+     * @param silkTouchRewarded whether or not a block broken with a tool enchanted with Silk Touch rewards experience.
+     */
+    public GatheringSkill(Skill skill, MaterialTable blocks, MaterialTable tools, UnaryOperator<String> blockAction,
+                          boolean silkTouchRewarded) {
+        this.skill = skill;
+        this.blocks = blocks;
+        this.tools = tools;
+        this.blockAction = blockAction;
+        this.silkTouchRewarded = silkTouchRewarded;
+    }
+
+    /**
+     * Gets the skill that experience is rewarded in.
+     *
+     * @return the skill.
+     */
+    public Skill getSkill() {
+        return skill;
+    }
+
+    /**
+     * Gets the blocks.
+     *
+     * @return the table of blocks.
+     */
+    public MaterialTable getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Gets the tools.
+     *
+     * @return the table of tools.
+     */
+    public MaterialTable getTools() {
+        return tools;
+    }
+
+    /**
+     * Gets the text stating what a player can do once they reach the required level of the block with the specified
+     * name.
+     *
+     * @param name the name of the block.
+     * @return the text.
+     */
+    public String getBlockAction(String name) {
+        return blockAction.apply(name);
+    }
+
+    /**
+     * Determines whether or not a block broken with a tool enchanted with Silk Touch rewards experience.
+     *
+     * @return {@code true} if it rewards experience, otherwise {@code false}.
+     */
+    public boolean isSilkTouchRewarded() {
+        return silkTouchRewarded;
+    }
+}
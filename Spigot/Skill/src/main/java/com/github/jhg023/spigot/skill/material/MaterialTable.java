@@ -0,0 +1,220 @@
+package com.github.jhg023.spigot.skill.material;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable table of the level requirement, experience, and display name of every {@link Material material} that a
+ * skill cares about, such as the blocks that can be mined or the pickaxes that can be used.
+ * <br><br>
+ * The values are stored in dense arrays indexed by {@link Material#ordinal()}, so every lookup is a single array access
+ * that returns a primitive, without hashing, boxing, or wrapping the result in an {@link java.util.Optional}. A
+ * material that is not in the table has a required level of {@link #ABSENT}.
+ * <br><br>
+ * Tables are loaded from a section of a skill plugin's configuration, where each key is the name of a material:
+ * <pre>
+ * mineables:
+ *   IRON_ORE: { level: 15, experience: 35 }
+ *   LAPIS_ORE: { level: 55, experience: 80, name: "Lapis Lazuli Ore" }
+ * </pre>
+ * An entry's {@code level} defaults to {@code 1}, its {@code experience} to {@code 0}, and its {@code name} to the
+ * material's name in title case. As a table is never modified, a plugin reloads its tables by loading new ones and
+ * replacing the old ones with a single write.
+ *
+ * @author Jacob Glickman
+ * @version February 7, 2020
+ */
+public final class MaterialTable {
+
+    /**
+     * The level returned by {@link #getRequiredLevel(Material)} for a material that is not in the table.
+     */
+    public static final int ABSENT = -1;
+
+    /**
+     * The number of {@link Material materials}, which is the length of every array.
+     */
+    private static final int MATERIAL_COUNT = Material.values().length;
+
+    /**
+     * The level required to use each material, indexed by {@link Material#ordinal()}, which is {@link #ABSENT} for
+     * materials that are not in the table.
+     */
+    private final int[] levels;
+
+    /**
+     * The experience provided by each material, indexed by {@link Material#ordinal()}.
+     */
+    private final int[] experience;
+
+    /**
+     * The display name of each material, indexed by {@link Material#ordinal()}.
+     */
+    private final String[] names;
+
+    /**
+     * The number of materials in the table.
+     */
+    private final int size;
+
+    /**
+     * Creates a new {@link MaterialTable} that contains the specified entries.
+     *
+     * @param entries the entry of each material.
+     */
+    public MaterialTable(Map<Material, Entry> entries) {
+        this.levels = new int[MATERIAL_COUNT];
+        this.experience = new int[MATERIAL_COUNT];
+        this.names = new String[MATERIAL_COUNT];
+        this.size = entries.size();
+
+        Arrays.fill(levels, ABSENT);
+
+        entries.forEach((material, entry) -> {
+            levels[material.ordinal()] = entry.level;
+            experience[material.ordinal()] = entry.experience;
+            names[material.ordinal()] = entry.name;
+        });
+    }
+
+    /**
+     * Loads a table from the specified section of a configuration.
+     *
+     * @param section the section, or {@code null} for an empty table.
+     * @return the table.
+     * @throws IllegalArgumentException if a key is not the name of a material, or an entry's level or experience is
+     *                                  negative.
+     */
+    public static MaterialTable load(ConfigurationSection section) {
+        var entries = new LinkedHashMap<Material, Entry>();
+
+        if (section == null) {
+            return new MaterialTable(entries);
+        }
+
+        for (var key : section.getKeys(false)) {
+            var material = Material.matchMaterial(key);
+
+            if (material == null) {
+                throw new IllegalArgumentException("Unknown material \"" + key + "\" in " + section.getCurrentPath() +
+                    "!");
+            }
+
+            var entry = section.getConfigurationSection(key);
+            int level = entry == null ? 1 : entry.getInt("level", 1);
+            int experience = entry == null ? 0 : entry.getInt("experience", 0);
+
+            if (level < 0 || experience < 0) {
+                throw new IllegalArgumentException("The level and experience of \"" + key + "\" in " +
+                    section.getCurrentPath() + " must not be negative!");
+            }
+
+            var name = entry == null ? null : entry.getString("name");
+
+            entries.put(material, new Entry(level, experience, name == null ? getDefaultName(material) : name));
+        }
+
+        return new MaterialTable(entries);
+    }
+
+    /**
+     * Determines whether or not the specified material is in the table.
+     *
+     * @param material the material.
+     * @return {@code true} if the material is in the table, otherwise {@code false}.
+     */
+    public boolean contains(Material material) {
+        return levels[material.ordinal()] != ABSENT;
+    }
+
+    /**
+     * Gets the level required to use the specified material.
+     *
+     * @param material the material.
+     * @return the level, or {@link #ABSENT} if the material is not in the table.
+     */
+    public int getRequiredLevel(Material material) {
+        return levels[material.ordinal()];
+    }
+
+    /**
+     * Gets the experience provided by the specified material.
+     *
+     * @param material the material.
+     * @return the experience, which is {@code 0} if the material is not in the table.
+     */
+    public int getExperience(Material material) {
+        return experience[material.ordinal()];
+    }
+
+    /**
+     * Gets the display name of the specified material.
+     *
+     * @param material the material.
+     * @return the display name, or {@code null} if the material is not in the table.
+     */
+    public String getName(Material material) {
+        return names[material.ordinal()];
+    }
+
+    /**
+     * Gets the number of materials in the table.
+     *
+     * @return the number of materials.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the name of the specified material in title case, i.e. {@code Iron Ore} for {@link Material#IRON_ORE}.
+     *
+     * @param material the material.
+     * @return the name.
+     */
+    private static String getDefaultName(Material material) {
+        return Arrays.stream(material.name().split("_"))
+            .map(word -> word.charAt(0) + word.substring(1).toLowerCase(Locale.US))
+            .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * The level requirement, experience, and display name of a single material.
+     */
+    public static final class Entry {
+
+        /**
+         * The level required to use the material.
+         */
+        private final int level;
+
+        /**
+         * The experience provided by the material.
+         */
+        private final int experience;
+
+        /**
+         * The display name of the material.
+         */
+        private final String name;
+
+        /**
+         * Creates a new {@link Entry}.
+         *
+         * @param level      the level required to use the material.
+         * @param experience the experience provided by the material.
+         * @param name       the display name of the material.
+         */
+        public Entry(int level, int experience, String name) {
+            this.level = level;
+            this.experience = experience;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.jhg023.spigot.skill.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events, such as experience grants, and measures the rate at which they occur.
+ * <br><br>
+ * The rate is an exponentially-weighted moving average over roughly the last minute, which is updated every time the
+ * meter is {@link #tick() ticked} by its {@link MetricRegistry}. Marking an event is a single uncontended increment.
+ *
+ * @author Jacob Glickman
+ * @version January 29, 2020
+ */
+public final class Meter {
+
+    /**
+     * The period, in seconds, over which the rate is averaged.
+     */
+    private static final double WINDOW_SECONDS = 60D;
+
+    /**
+     * The number of events that have occurred.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The number of events that had occurred at the last tick.
+     */
+    private long lastCount;
+
+    /**
+     * The time of the last tick, as returned by {@link System#nanoTime()}.
+     */
+    private long lastTickNanos = System.nanoTime();
+
+    /**
+     * The average number of events per second, or {@code -1} before the first tick.
+     */
+    private volatile double rate = -1D;
+
+    /**
+     * Marks that a single event has occurred.
+     */
+    public void mark() {
+        count.increment();
+    }
+
+    /**
+     * Marks that the specified number of events have occurred.
+     *
+     * @param events the number of events.
+     */
+    public void mark(long events) {
+        count.add(events);
+    }
+
+    /**
+     * Gets the number of events that have occurred.
+     *
+     * @return the number of events.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the average number of events per second over roughly the last minute.
+     *
+     * @return the rate, or {@code 0} if the meter has not been ticked yet.
+     */
+    public double getRate() {
+        return Math.max(0D, rate);
+    }
+
+    /**
+     * Folds the events that have occurred since the last tick into the rate.
+     * <br><br>
+     * This method must only be invoked by one thread at a time.
+     */
+    void tick() {
+        long now = System.nanoTime();
+        long count = this.count.sum();
+        double elapsedSeconds = (double) (now - lastTickNanos) / TimeUnit.SECONDS.toNanos(1L);
+
+        if (elapsedSeconds <= 0D) {
+            return;
+        }
+
+        double instantRate = (count - lastCount) / elapsedSeconds;
+        double rate = this.rate;
+
+        this.rate = rate < 0D ? instantRate : rate + (1D - Math.exp(-elapsedSeconds / WINDOW_SECONDS)) *
+            (instantRate - rate);
+
+        lastCount = count;
+        lastTickNanos = now;
+    }
+}
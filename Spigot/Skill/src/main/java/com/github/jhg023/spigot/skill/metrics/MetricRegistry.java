@@ -0,0 +1,202 @@
+package com.github.jhg023.spigot.skill.metrics;
+
+import com.github.jhg023.common.database.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A registry of named counters, {@link Meter meters}, gauges, and {@link LatencyHistogram latency histograms}.
+ * <br><br>
+ * Metrics are looked up by name once, when the code that records into them is set up, and the returned instance is
+ * kept in a field; recording into a metric never touches the registry. Reading the registry, through
+ * {@link #snapshot()}, the {@code /skillstats} command, or JMX, flattens every metric into named values:
+ * <ul>
+ *     <li>a counter or gauge into its value, under its own name.</li>
+ *     <li>a meter into {@code <name>.count} and {@code <name>.rate} (events per second).</li>
+ *     <li>a histogram into {@code <name>.count}, {@code <name>.mean_us}, {@code <name>.p50_us},
+ *     {@code <name>.p99_us}, and {@code <name>.max_us} (in microseconds).</li>
+ * </ul>
+ *
+ * @author Jacob Glickman
+ * @version January 29, 2020
+ */
+public final class MetricRegistry {
+
+    /**
+     * The period, in ticks, at which {@link #tick()} should be invoked.
+     */
+    public static final long TICK_PERIOD = 20L * 5L;
+
+    /**
+     * Every metric, keyed by name.
+     */
+    private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * The name under which this registry is registered with the platform MBean server, or {@code null} if it is not.
+     */
+    private ObjectName objectName;
+
+    /**
+     * Gets the counter with the specified name, creating it if it does not exist.
+     *
+     * @param name the name of the counter.
+     * @return the counter.
+     * @throws IllegalArgumentException if a metric of another kind is registered under the name.
+     */
+    public LongAdder counter(String name) {
+        return get(name, LongAdder.class, new LongAdder());
+    }
+
+    /**
+     * Gets the {@link Meter} with the specified name, creating it if it does not exist.
+     *
+     * @param name the name of the meter.
+     * @return the meter.
+     * @throws IllegalArgumentException if a metric of another kind is registered under the name.
+     */
+    public Meter meter(String name) {
+        return get(name, Meter.class, new Meter());
+    }
+
+    /**
+     * Gets the {@link LatencyHistogram} with the specified name, creating it if it does not exist.
+     *
+     * @param name the name of the histogram.
+     * @return the histogram.
+     * @throws IllegalArgumentException if a metric of another kind is registered under the name.
+     */
+    public LatencyHistogram histogram(String name) {
+        return get(name, LatencyHistogram.class, new LatencyHistogram());
+    }
+
+    /**
+     * Registers an existing {@link LatencyHistogram}, such as one that is recorded into by another plugin, under the
+     * specified name, replacing any histogram that is already registered under it.
+     *
+     * @param name      the name of the histogram.
+     * @param histogram the histogram.
+     */
+    public void register(String name, LatencyHistogram histogram) {
+        metrics.put(name, histogram);
+    }
+
+    /**
+     * Registers a gauge, whose value is read from the specified supplier whenever the registry is read, under the
+     * specified name, replacing any gauge that is already registered under it.
+     *
+     * @param name     the name of the gauge.
+     * @param supplier supplies the value of the gauge; it must be safe to invoke from any thread.
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        metrics.put(name, supplier);
+    }
+
+    /**
+     * Updates the rate of every {@link Meter}.
+     * <br><br>
+     * This method should be invoked every {@link #TICK_PERIOD} ticks, and only by one thread at a time.
+     */
+    public void tick() {
+        for (var metric : metrics.values()) {
+            if (metric instanceof Meter) {
+                ((Meter) metric).tick();
+            }
+        }
+    }
+
+    /**
+     * Reads every metric, flattened into named values.
+     *
+     * @return the values, sorted by name.
+     */
+    public SortedMap<String, Number> snapshot() {
+        var snapshot = new TreeMap<String, Number>();
+
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            var name = entry.getKey();
+            var metric = entry.getValue();
+
+            if (metric instanceof LongAdder) {
+                snapshot.put(name, ((LongAdder) metric).sum());
+            } else if (metric instanceof LongSupplier) {
+                snapshot.put(name, ((LongSupplier) metric).getAsLong());
+            } else if (metric instanceof Meter) {
+                var meter = (Meter) metric;
+
+                snapshot.put(name + ".count", meter.getCount());
+                snapshot.put(name + ".rate", meter.getRate());
+            } else if (metric instanceof LatencyHistogram) {
+                var histogram = (LatencyHistogram) metric;
+
+                snapshot.put(name + ".count", histogram.getCount());
+                snapshot.put(name + ".mean_us", histogram.getMean(TimeUnit.MICROSECONDS));
+                snapshot.put(name + ".p50_us", histogram.getPercentile(50D, TimeUnit.MICROSECONDS));
+                snapshot.put(name + ".p99_us", histogram.getPercentile(99D, TimeUnit.MICROSECONDS));
+                snapshot.put(name + ".max_us", histogram.getMax(TimeUnit.MICROSECONDS));
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Registers this registry with the platform MBean server, so that every metric can be read over JMX as an
+     * attribute of the specified MBean.
+     *
+     * @param name the name of the MBean, i.e. {@code com.github.jhg023.spigot.skill:type=Metrics}.
+     * @throws JMException if the name is malformed, or an MBean is already registered under it.
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        var objectName = new ObjectName(name);
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricRegistryMBean(this), objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Unregisters this registry from the platform MBean server, if it is registered.
+     *
+     * @throws JMException if the MBean could not be unregistered.
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * Gets the metric with the specified name, registering the specified metric under it if it does not exist.
+     *
+     * @param name   the name of the metric.
+     * @param type   the kind of metric.
+     * @param metric the metric to register if none exists.
+     * @param <T>    the kind of metric.
+     * @return the metric.
+     * @throws IllegalArgumentException if a metric of another kind is registered under the name.
+     */
+    private <T> T get(String name, Class<T> type, T metric) {
+        var existing = metrics.putIfAbsent(name, metric);
+
+        if (existing == null) {
+            return metric;
+        }
+
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("The metric " + name + " is not a " + type.getSimpleName() + "!");
+        }
+
+        return type.cast(existing);
+    }
+}
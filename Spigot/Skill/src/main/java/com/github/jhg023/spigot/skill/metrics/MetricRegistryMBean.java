@@ -0,0 +1,87 @@
+package com.github.jhg023.spigot.skill.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Exposes every value of a {@link MetricRegistry} as a read-only attribute of a single MBean.
+ * <br><br>
+ * The attributes are read from a fresh {@link MetricRegistry#snapshot() snapshot} every time, so metrics that are
+ * registered after the MBean is still appear.
+ *
+ * @author Jacob Glickman
+ * @version January 29, 2020
+ */
+final class MetricRegistryMBean implements DynamicMBean {
+
+    /**
+     * The registry whose values are exposed.
+     */
+    private final MetricRegistry registry;
+
+    MetricRegistryMBean(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        var value = registry.snapshot().get(attribute);
+
+        if (value == null) {
+            throw new AttributeNotFoundException("No metric is named " + attribute + "!");
+        }
+
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("The metric " + attribute.getName() + " is read-only!");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        var snapshot = registry.snapshot();
+        var list = new AttributeList(attributes.length);
+
+        for (var attribute : attributes) {
+            var value = snapshot.get(attribute);
+
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        var snapshot = registry.snapshot();
+        var attributes = new MBeanAttributeInfo[snapshot.size()];
+        int index = 0;
+
+        for (var entry : snapshot.entrySet()) {
+            attributes[index++] = new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                entry.getKey(), true, false, false);
+        }
+
+        return new MBeanInfo(MetricRegistry.class.getName(), "The metrics of the Skill plugin.", attributes, null,
+            null, null);
+    }
+}
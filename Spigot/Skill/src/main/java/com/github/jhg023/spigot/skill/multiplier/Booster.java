@@ -0,0 +1,82 @@
+package com.github.jhg023.spigot.skill.multiplier;
+
+import com.github.jhg023.spigot.skill.Skill;
+
+/**
+ * A timed multiplier of the experience gained by a single player, in a single {@link Skill skill} or in every skill.
+ *
+ * @author Jacob Glickman
+ * @version February 6, 2020
+ */
+public final class Booster {
+
+    /**
+     * The factor that experience is multiplied by.
+     */
+    private final double factor;
+
+    /**
+     * The skill that the booster applies to, or {@code null} if it applies to every skill.
+     */
+    private final Skill skill;
+
+    /**
+     * The time at which the booster expires, in milliseconds since the epoch.
+     */
+    private final long expiresAt;
+
+    /**
+     * Creates a new {@link Booster}.
+     *
+     * @param factor    the factor that experience is multiplied by.
+     * @param skill     the skill that the booster applies to, or {@code null} if it applies to every skill.
+     * @param expiresAt the time at which the booster expires, in milliseconds since the epoch.
+     * @throws IllegalArgumentException if {@code factor} is not positive.
+     */
+    public Booster(double factor, Skill skill, long expiresAt) {
+        if (factor <= 0D) {
+            throw new IllegalArgumentException("The factor of a booster must be positive!");
+        }
+
+        this.factor = factor;
+        this.skill = skill;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Determines whether or not the booster applies to the specified skill.
+     *
+     * @param skill the skill.
+     * @return {@code true} if the booster applies to the skill, otherwise {@code false}.
+     */
+    public boolean appliesTo(Skill skill) {
+        return this.skill == null || this.skill == skill;
+    }
+
+    /**
+     * Gets the factor that experience is multiplied by.
+     *
+     * @return the factor.
+     */
+    public double getFactor() {
+        return factor;
+    }
+
+    /**
+     * Gets the skill that the booster applies to.
+     *
+     * @return the skill, or {@code null} if the booster applies to every skill.
+     */
+    public Skill getSkill() {
+        return skill;
+    }
+
+    /**
+     * Gets the time at which the booster expires.
+     *
+     * @return the time, in milliseconds since the epoch.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,344 @@
+package com.github.jhg023.spigot.skill.multiplier;
+
+import com.github.jhg023.spigot.skill.Skill;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Combines every rule that multiplies the experience that players gain into a single factor per player and
+ * {@link Skill skill}: a constant bonus per skill, the {@link MultiplierWindow windows} that are open, and each
+ * player's {@link Booster boosters}. The factors of every rule that applies are multiplied together.
+ * <br><br>
+ * The factors are precomputed into an immutable table, which is only rebuilt when a window opens or closes, or when a
+ * booster is granted, cleared, or expires. Applying the factor to a grant is therefore a lookup and a multiplication,
+ * without evaluating any rule or allocating anything. {@link #refresh(long)} must be invoked periodically for windows
+ * and boosters to take effect, and to lapse, on time.
+ *
+ * @author Jacob Glickman
+ * @version February 6, 2020
+ */
+public final class ExperienceMultipliers {
+
+    /**
+     * A cached copy of {@link Skill#values()}.
+     */
+    private static final Skill[] SKILLS = Skill.values();
+
+    /**
+     * The time zone in which windows are evaluated.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The constant bonus of each skill, indexed by {@link Skill#ordinal()}.
+     */
+    private final double[] skillBonuses;
+
+    /**
+     * The scheduled windows.
+     */
+    private final List<MultiplierWindow> windows;
+
+    /**
+     * The boosters of every player who has any, which may include boosters that have expired since the table was last
+     * rebuilt.
+     */
+    private final Map<UUID, List<Booster>> boosters = new HashMap<>();
+
+    /**
+     * The current table of factors, which is replaced as a whole whenever it is rebuilt.
+     */
+    private volatile Factors factors;
+
+    /**
+     * Creates a new {@link ExperienceMultipliers} without any boosters.
+     *
+     * @param zone         the time zone in which windows are evaluated.
+     * @param skillBonuses the constant bonus of each skill, indexed by {@link Skill#ordinal()}.
+     * @param windows      the scheduled windows.
+     * @param now          the current time, in milliseconds since the epoch.
+     */
+    public ExperienceMultipliers(ZoneId zone, double[] skillBonuses, List<MultiplierWindow> windows, long now) {
+        this.zone = zone;
+        this.skillBonuses = skillBonuses.clone();
+        this.windows = List.copyOf(windows);
+
+        synchronized (this) {
+            rebuild(now);
+        }
+    }
+
+    /**
+     * Multiplies the specified amount of experience by the specified player's factor in the specified skill.
+     * <br><br>
+     * This method may be invoked from any thread.
+     *
+     * @param uuid   the unique identifier of the player.
+     * @param skill  the skill.
+     * @param amount the amount of experience.
+     * @return the multiplied amount, rounded to the nearest integer.
+     */
+    public int apply(UUID uuid, Skill skill, int amount) {
+        double factor = getFactor(uuid, skill);
+        return factor == 1D ? amount : (int) Math.min(Integer.MAX_VALUE, Math.round(amount * factor));
+    }
+
+    /**
+     * Gets the specified player's factor in the specified skill.
+     *
+     * @param uuid  the unique identifier of the player.
+     * @param skill the skill.
+     * @return the factor.
+     */
+    public double getFactor(UUID uuid, Skill skill) {
+        var current = factors;
+        var playerFactors = current.players.isEmpty() ? null : current.players.get(uuid);
+
+        return (playerFactors == null ? current.global : playerFactors)[skill.ordinal()];
+    }
+
+    /**
+     * Rebuilds the table of factors if a window has opened or closed, or a booster has expired, since it was last
+     * built.
+     *
+     * @param now the current time, in milliseconds since the epoch.
+     * @return {@code true} if the table was rebuilt, otherwise {@code false}.
+     */
+    public boolean refresh(long now) {
+        if (now < factors.nextTransition) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (now < factors.nextTransition) {
+                return false;
+            }
+
+            rebuild(now);
+            return true;
+        }
+    }
+
+    /**
+     * Grants the specified booster to the specified player.
+     *
+     * @param uuid    the unique identifier of the player.
+     * @param booster the booster.
+     * @param now     the current time, in milliseconds since the epoch.
+     */
+    public synchronized void addBooster(UUID uuid, Booster booster, long now) {
+        boosters.computeIfAbsent(uuid, key -> new ArrayList<>()).add(booster);
+        rebuild(now);
+    }
+
+    /**
+     * Removes every booster of the specified player.
+     *
+     * @param uuid the unique identifier of the player.
+     * @param now  the current time, in milliseconds since the epoch.
+     * @return the number of boosters that were removed, including boosters that had expired.
+     */
+    public synchronized int clearBoosters(UUID uuid, long now) {
+        var removed = boosters.remove(uuid);
+
+        if (removed == null) {
+            return 0;
+        }
+
+        rebuild(now);
+        return removed.size();
+    }
+
+    /**
+     * Gets the boosters of the specified player that had not expired when the table was last rebuilt.
+     *
+     * @param uuid the unique identifier of the player.
+     * @return the boosters, which may be empty.
+     */
+    public synchronized List<Booster> getBoosters(UUID uuid) {
+        return List.copyOf(boosters.getOrDefault(uuid, List.of()));
+    }
+
+    /**
+     * Gets the names of the windows that were open when the table was last rebuilt.
+     *
+     * @return the names, which may be empty.
+     */
+    public List<String> getOpenWindows() {
+        return factors.openWindows;
+    }
+
+    /**
+     * Gets the number of players who had a booster when the table was last rebuilt.
+     *
+     * @return the number of players.
+     */
+    public int getBoostedPlayers() {
+        return factors.players.size();
+    }
+
+    /**
+     * Writes every booster to the specified file, one {@code <uuid> <factor> <skill ordinal> <expiry>} line per
+     * booster, where the ordinal of a booster that applies to every skill is {@code -1}.
+     *
+     * @param file the file, which is replaced atomically if it exists.
+     * @throws IOException if the file could not be written.
+     */
+    public synchronized void save(Path file) throws IOException {
+        var lines = new StringBuilder();
+
+        boosters.forEach((uuid, playerBoosters) -> playerBoosters.forEach(booster -> lines.append(uuid).append(' ')
+            .append(booster.getFactor()).append(' ')
+            .append(booster.getSkill() == null ? -1 : booster.getSkill().ordinal()).append(' ')
+            .append(booster.getExpiresAt()).append('\n')));
+
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        Files.writeString(temporary, lines, StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Grants every booster in the specified file, if it exists, that has not expired.
+     *
+     * @param file the file, as written by {@link #save(Path)}.
+     * @param now  the current time, in milliseconds since the epoch.
+     * @return the number of boosters that were granted.
+     * @throws IOException if the file could not be read.
+     */
+    public synchronized int load(Path file, long now) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int loaded = 0;
+
+        for (var line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            var parts = line.split(" ");
+
+            if (parts.length != 4) {
+                continue;
+            }
+
+            try {
+                int ordinal = Integer.parseInt(parts[2]);
+                long expiresAt = Long.parseLong(parts[3]);
+
+                if (ordinal >= SKILLS.length || expiresAt <= now) {
+                    continue;
+                }
+
+                boosters.computeIfAbsent(UUID.fromString(parts[0]), key -> new ArrayList<>())
+                    .add(new Booster(Double.parseDouble(parts[1]), ordinal < 0 ? null : SKILLS[ordinal], expiresAt));
+                loaded++;
+            } catch (IllegalArgumentException e) {
+                // The line was edited by hand and is malformed, so it is skipped.
+            }
+        }
+
+        rebuild(now);
+        return loaded;
+    }
+
+    /**
+     * Rebuilds the table of factors, and discards every booster that has expired.
+     * <br><br>
+     * The caller must hold this object's lock.
+     *
+     * @param now the current time, in milliseconds since the epoch.
+     */
+    private void rebuild(long now) {
+        var zonedNow = Instant.ofEpochMilli(now).atZone(zone);
+        var global = skillBonuses.clone();
+        var openWindows = new ArrayList<String>();
+        long nextTransition = Long.MAX_VALUE;
+
+        for (var window : windows) {
+            if (window.isOpen(zonedNow)) {
+                openWindows.add(window.getName());
+
+                for (var skill : SKILLS) {
+                    if (window.appliesTo(skill)) {
+                        global[skill.ordinal()] *= window.getFactor();
+                    }
+                }
+            }
+
+            nextTransition = Math.min(nextTransition, window.getNextTransition(zonedNow));
+        }
+
+        var players = new HashMap<UUID, double[]>();
+        var iterator = boosters.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+
+            entry.getValue().removeIf(booster -> booster.getExpiresAt() <= now);
+
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+
+            var playerFactors = global.clone();
+
+            for (var booster : entry.getValue()) {
+                nextTransition = Math.min(nextTransition, booster.getExpiresAt());
+
+                for (var skill : SKILLS) {
+                    if (booster.appliesTo(skill)) {
+                        playerFactors[skill.ordinal()] *= booster.getFactor();
+                    }
+                }
+            }
+
+            players.put(entry.getKey(), playerFactors);
+        }
+
+        factors = new Factors(global, players, List.copyOf(openWindows), nextTransition);
+    }
+
+    /**
+     * An immutable table of the factor of every player and skill.
+     */
+    private static final class Factors {
+
+        /**
+         * The factor of each skill for players without boosters, indexed by {@link Skill#ordinal()}.
+         */
+        private final double[] global;
+
+        /**
+         * The factor of each skill for each player with a booster, indexed by {@link Skill#ordinal()}.
+         */
+        private final Map<UUID, double[]> players;
+
+        /**
+         * The names of the windows that are open.
+         */
+        private final List<String> openWindows;
+
+        /**
+         * The time, in milliseconds since the epoch, at which the table must next be rebuilt.
+         */
+        private final long nextTransition;
+
+        private Factors(double[] global, Map<UUID, double[]> players, List<String> openWindows, long nextTransition) {
+            this.global = global;
+            this.players = players;
+            this.openWindows = openWindows;
+            this.nextTransition = nextTransition;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.jhg023.spigot.skill.multiplier;
+
+import com.github.jhg023.spigot.skill.Skill;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A scheduled window during which the experience gained by every player, in some or all {@link Skill skills}, is
+ * multiplied by a constant factor, such as a double experience weekend.
+ * <br><br>
+ * A window either recurs on certain days of every week, or is open once, between two dates. Both are interpreted in
+ * the time zone of the instant that they are evaluated at.
+ *
+ * @author Jacob Glickman
+ * @version February 6, 2020
+ */
+public final class MultiplierWindow {
+
+    /**
+     * The name of the window, which is reported when it opens or closes.
+     */
+    private final String name;
+
+    /**
+     * The factor that experience is multiplied by while the window is open.
+     */
+    private final double factor;
+
+    /**
+     * The skills that the window applies to.
+     */
+    private final Set<Skill> skills;
+
+    /**
+     * The days of the week on which a weekly window opens, or {@code null} if the window is only open once.
+     */
+    private final Set<DayOfWeek> days;
+
+    /**
+     * The time of day at which a weekly window opens.
+     */
+    private final LocalTime startTime;
+
+    /**
+     * How long a weekly window stays open each time it opens, which is at most one day.
+     */
+    private final Duration length;
+
+    /**
+     * The date and time at which a one-off window opens.
+     */
+    private final LocalDateTime start;
+
+    /**
+     * The date and time at which a one-off window closes.
+     */
+    private final LocalDateTime end;
+
+    private MultiplierWindow(String name, double factor, Set<Skill> skills, Set<DayOfWeek> days, LocalTime startTime,
+                             Duration length, LocalDateTime start, LocalDateTime end) {
+        if (factor <= 0D) {
+            throw new IllegalArgumentException("The factor of the window \"" + name + "\" must be positive!");
+        }
+
+        this.name = name;
+        this.factor = factor;
+        this.skills = skills.isEmpty() ? EnumSet.allOf(Skill.class) : EnumSet.copyOf(skills);
+        this.days = days;
+        this.startTime = startTime;
+        this.length = length;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates a window that opens at the specified time on each of the specified days of the week.
+     *
+     * @param name      the name of the window.
+     * @param factor    the factor that experience is multiplied by while the window is open.
+     * @param skills    the skills that the window applies to, or an empty set for every skill.
+     * @param days      the days of the week on which the window opens.
+     * @param startTime the time of day at which the window opens.
+     * @param endTime   the time of day at which the window closes, which is on the following day if it is not after
+     *                  {@code startTime}; if both are equal, the window stays open for a whole day.
+     * @return the window.
+     * @throws IllegalArgumentException if {@code factor} is not positive, or {@code days} is empty.
+     */
+    public static MultiplierWindow weekly(String name, double factor, Set<Skill> skills, Set<DayOfWeek> days,
+                                          LocalTime startTime, LocalTime endTime) {
+        if (days.isEmpty()) {
+            throw new IllegalArgumentException("The window \"" + name + "\" must open on at least one day!");
+        }
+
+        var length = Duration.between(startTime, endTime);
+
+        if (length.isNegative() || length.isZero()) {
+            length = length.plusDays(1L);
+        }
+
+        return new MultiplierWindow(name, factor, skills, EnumSet.copyOf(days), startTime, length, null, null);
+    }
+
+    /**
+     * Creates a window that is open once, between the specified dates and times.
+     *
+     * @param name   the name of the window.
+     * @param factor the factor that experience is multiplied by while the window is open.
+     * @param skills the skills that the window applies to, or an empty set for every skill.
+     * @param start  the date and time at which the window opens.
+     * @param end    the date and time at which the window closes.
+     * @return the window.
+     * @throws IllegalArgumentException if {@code factor} is not positive, or {@code end} is not after {@code start}.
+     */
+    public static MultiplierWindow between(String name, double factor, Set<Skill> skills, LocalDateTime start,
+                                           LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("The window \"" + name + "\" must close after it opens!");
+        }
+
+        return new MultiplierWindow(name, factor, skills, null, null, null, start, end);
+    }
+
+    /**
+     * Determines whether or not the window is open at the specified instant.
+     *
+     * @param now the instant.
+     * @return {@code true} if the window is open, otherwise {@code false}.
+     */
+    public boolean isOpen(ZonedDateTime now) {
+        if (days == null) {
+            return !now.isBefore(start.atZone(now.getZone())) && now.isBefore(end.atZone(now.getZone()));
+        }
+
+        // As the window stays open for at most a day, only the openings of today and yesterday can contain now.
+        for (int daysAgo = 0; daysAgo <= 1; daysAgo++) {
+            var date = now.toLocalDate().minusDays(daysAgo);
+
+            if (days.contains(date.getDayOfWeek())) {
+                var opening = ZonedDateTime.of(date, startTime, now.getZone());
+
+                if (!now.isBefore(opening) && now.isBefore(opening.plus(length))) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the next instant, after the specified instant, at which the window opens or closes.
+     *
+     * @param now the instant.
+     * @return the next instant, in milliseconds since the epoch, or {@link Long#MAX_VALUE} if the window never opens
+     *         or closes again.
+     */
+    public long getNextTransition(ZonedDateTime now) {
+        if (days == null) {
+            var opening = start.atZone(now.getZone());
+            var closing = end.atZone(now.getZone());
+
+            if (now.isBefore(opening)) {
+                return opening.toInstant().toEpochMilli();
+            }
+
+            return now.isBefore(closing) ? closing.toInstant().toEpochMilli() : Long.MAX_VALUE;
+        }
+
+        // Openings, and closings, are in chronological order, and each closing precedes the next opening.
+        var date = now.toLocalDate().minusDays(1L);
+
+        for (int i = 0; i <= 8; i++, date = date.plusDays(1L)) {
+            if (!days.contains(date.getDayOfWeek())) {
+                continue;
+            }
+
+            var opening = ZonedDateTime.of(date, startTime, now.getZone());
+
+            if (now.isBefore(opening)) {
+                return opening.toInstant().toEpochMilli();
+            }
+
+            var closing = opening.plus(length);
+
+            if (now.isBefore(closing)) {
+                return closing.toInstant().toEpochMilli();
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Determines whether or not the window applies to the specified skill.
+     *
+     * @param skill the skill.
+     * @return {@code true} if the window applies to the skill, otherwise {@code false}.
+     */
+    public boolean appliesTo(Skill skill) {
+        return skills.contains(skill);
+    }
+
+    /**
+     * Gets the name of the window.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the factor that experience is multiplied by while the window is open.
+     *
+     * @return the factor.
+     */
+    public double getFactor() {
+        return factor;
+    }
+}
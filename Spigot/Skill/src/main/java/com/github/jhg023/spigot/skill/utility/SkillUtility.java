@@ -3,7 +3,6 @@ package com.github.jhg023.spigot.skill.utility;
 import com.github.jhg023.spigot.skill.Skill;
 
 import java.text.NumberFormat;
-import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -15,15 +14,21 @@ import java.util.Locale;
 public final class SkillUtility {
 
     /**
-     * The metadata key to use when storing skill-related values.
+     * The key, within the plugin's namespace, under which an experience orb's packed skill experience is stored in its
+     * persistent data container.
      */
-    public static final String SKILL_METADATA_KEY = "com.github.jhg023.spigot.skill";
+    public static final String ORB_PAYLOAD_KEY = "skill_experience";
 
     /**
      * A global {@link NumberFormat} instance used to format experience values.
      */
     private static final NumberFormat NUMBER_FORMAT = NumberFormat.getInstance(Locale.US);
 
+    /**
+     * A cached copy of {@link Skill#values()}, so that unpacking a skill does not allocate a new array.
+     */
+    private static final Skill[] SKILLS = Skill.values();
+
     /**
      * Hard-coded values of experience mapped to their respective level (index in the array, plus one).
      */
@@ -38,6 +43,40 @@ public final class SkillUtility {
         7_195_629, 7_944_614, 8_771_558, 9_684_577, 10_692_629, 11_805_606, 13_034_431, 14_391_160
     };
 
+    /**
+     * The maximum level that can be reached in a skill.
+     */
+    public static final int MAX_LEVEL = EXPERIENCE_FOR_LEVEL.length;
+
+    /**
+     * The number of bits that an amount of experience is shifted right by to find its bucket in
+     * {@link #LEVEL_FOR_BUCKET}.
+     * <br><br>
+     * Buckets span {@code 64} experience, which is less than the smallest gap between two levels ({@code 83}), so at
+     * most one level threshold lies within any bucket.
+     */
+    private static final int BUCKET_SHIFT = 6;
+
+    /**
+     * The level at the first (lowest) amount of experience of each bucket, up to and including the bucket that contains
+     * the experience required for {@link #MAX_LEVEL}.
+     */
+    private static final byte[] LEVEL_FOR_BUCKET = new byte[(EXPERIENCE_FOR_LEVEL[MAX_LEVEL - 1] >>> BUCKET_SHIFT) + 1];
+
+    static {
+        int level = 0;
+
+        for (int bucket = 0; bucket < LEVEL_FOR_BUCKET.length; bucket++) {
+            int experience = bucket << BUCKET_SHIFT;
+
+            while (level < MAX_LEVEL && EXPERIENCE_FOR_LEVEL[level] <= experience) {
+                level++;
+            }
+
+            LEVEL_FOR_BUCKET[bucket] = (byte) level;
+        }
+    }
+
     /**
      * A {@code private} constructor to prevent instantiation.
      *
@@ -55,8 +94,19 @@ public final class SkillUtility {
      * @return a formatted tracker display.
      */
     public static String formatDisplay(Skill skill, int currentExperience) {
-        var level = getLevelForExperience(currentExperience);
+        return formatDisplay(skill, currentExperience, getLevelForExperience(currentExperience));
+    }
 
+    /**
+     * Formats the tracker display to show level, current experience, and goal experience (to level up), using a level
+     * that has already been computed for the current experience.
+     *
+     * @param skill the skill to format the display for.
+     * @param currentExperience the current experience to use in the display.
+     * @param level the level that correlates to the current experience.
+     * @return a formatted tracker display.
+     */
+    public static String formatDisplay(Skill skill, int currentExperience, int level) {
         if (level == EXPERIENCE_FOR_LEVEL.length) {
             return String.format(skill.getMaxLevelFormattedDisplay(), level, NUMBER_FORMAT.format(currentExperience));
         }
@@ -85,14 +135,78 @@ public final class SkillUtility {
         }
     }
 
+    /**
+     * Packs the specified {@link Skill skill} and amount of experience into a single {@code long}, with the skill's
+     * ordinal in the upper 32 bits and the experience in the lower 32 bits.
+     *
+     * @param skill      the skill.
+     * @param experience the amount of experience.
+     * @return the packed skill experience.
+     */
+    public static long packSkillExperience(Skill skill, int experience) {
+        return (long) skill.ordinal() << 32 | (experience & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the {@link Skill skill} of the specified packed skill experience.
+     *
+     * @param packed the packed skill experience.
+     * @return the skill.
+     * @see #packSkillExperience(Skill, int)
+     */
+    public static Skill unpackSkill(long packed) {
+        return SKILLS[(int) (packed >>> 32)];
+    }
+
+    /**
+     * Gets the amount of experience of the specified packed skill experience.
+     *
+     * @param packed the packed skill experience.
+     * @return the amount of experience.
+     * @see #packSkillExperience(Skill, int)
+     */
+    public static int unpackExperience(long packed) {
+        return (int) packed;
+    }
+
     /**
      * Gets the floor level for a specified amount of experience.
+     * <br><br>
+     * This runs in constant time: the level at the start of the experience's bucket is read from a table, and at most
+     * one level threshold is compared against.
      *
      * @param experience the amount of experience.
      * @return the level that correlates to the specified experience.
      */
     public static int getLevelForExperience(int experience) {
-        return Math.abs(Arrays.binarySearch(EXPERIENCE_FOR_LEVEL, experience) + 1);
+        if (experience < 0) {
+            return 0;
+        }
+
+        int bucket = experience >>> BUCKET_SHIFT;
+
+        if (bucket >= LEVEL_FOR_BUCKET.length) {
+            return MAX_LEVEL;
+        }
+
+        int level = LEVEL_FOR_BUCKET[bucket];
+
+        return level < MAX_LEVEL && experience >= EXPERIENCE_FOR_LEVEL[level] ? level + 1 : level;
+    }
+
+    /**
+     * Gets the amount of experience required to reach a specified level.
+     *
+     * @param level the level.
+     * @return the experience required to reach the level, or {@link Integer#MAX_VALUE} if the level is greater than
+     *         {@link #MAX_LEVEL}.
+     */
+    public static int getExperienceForLevel(int level) {
+        if (level > MAX_LEVEL) {
+            return Integer.MAX_VALUE;
+        }
+
+        return EXPERIENCE_FOR_LEVEL[Math.max(0, level - 1)];
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.github.jhg023.spigot.skill.utility;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * A utility class that converts {@link UUID}s to and from the 16-byte form that is stored in {@code BINARY(16)}
+ * database columns.
+ *
+ * @author Jacob Glickman
+ * @version January 27, 2020
+ */
+public final class UuidUtility {
+
+    /**
+     * The number of bytes in the binary form of a {@link UUID}.
+     */
+    public static final int BYTES = 16;
+
+    /**
+     * A {@code private} constructor to prevent instantiation.
+     *
+     * @throws UnsupportedOperationException if invoked.
+     */
+    private UuidUtility() {
+        throw new UnsupportedOperationException("This class cannot be instantiated!");
+    }
+
+    /**
+     * Converts the specified {@link UUID} to its binary form: its most significant bits followed by its least
+     * significant bits, both big-endian.
+     *
+     * @param uuid the {@link UUID}.
+     * @return the binary form of the {@link UUID}.
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(BYTES)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    /**
+     * Converts the specified binary form of a {@link UUID} back to a {@link UUID}.
+     *
+     * @param bytes the binary form, as created by {@link #toBytes(UUID)}.
+     * @return the {@link UUID}.
+     * @throws IllegalArgumentException if {@code bytes} is not {@value #BYTES} bytes long.
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != BYTES) {
+            throw new IllegalArgumentException("A binary UUID must be " + BYTES + " bytes long, not " + bytes.length +
+                "!");
+        }
+
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -1,9 +1,14 @@
 module com.github.jhg023.spigot.skill {
     requires transitive java.logging;
+    requires java.management;
 
-    requires com.github.jhg023.spigot.database;
+    requires transitive com.github.jhg023.spigot.database;
     requires org.bukkit;
 
     exports com.github.jhg023.spigot.skill;
+    exports com.github.jhg023.spigot.skill.leaderboard;
+    exports com.github.jhg023.spigot.skill.material;
+    exports com.github.jhg023.spigot.skill.metrics;
+    exports com.github.jhg023.spigot.skill.multiplier;
     exports com.github.jhg023.spigot.skill.utility;
 }